@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# 학습 실행(com.febrie.tools.StartupTraining)으로 기동 캐시를 만듭니다.
+#   JDK 24 이상: AOT 캐시 (target/app.aot, JEP 483)
+#   그 이전 JDK: AppCDS 아카이브 (target/app.jsa)
+# jar 또는 JDK가 바뀌면 캐시를 다시 만들어야 합니다. (mvn package 이후 실행)
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="${JAR:-target/Test01-1.0-SNAPSHOT.jar}"
+ITERATIONS="${ITERATIONS:-50}"
+OUT_DIR="$(dirname "$JAR")"
+
+if [ ! -f "$JAR" ]; then
+    echo "jar 파일이 없습니다: $JAR (먼저 mvn package 실행)" >&2
+    exit 1
+fi
+
+FEATURE=$("$JAVA" -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+
+if [ "$FEATURE" -ge 24 ]; then
+    rm -f "$OUT_DIR/app.aotconf" "$OUT_DIR/app.aot"
+    "$JAVA" -XX:AOTMode=record -XX:AOTConfiguration="$OUT_DIR/app.aotconf" \
+        -cp "$JAR" com.febrie.tools.StartupTraining "$ITERATIONS"
+    "$JAVA" -XX:AOTMode=create -XX:AOTConfiguration="$OUT_DIR/app.aotconf" -XX:AOTCache="$OUT_DIR/app.aot" \
+        -cp "$JAR"
+    echo "AOT 캐시 생성 완료: $OUT_DIR/app.aot"
+else
+    rm -f "$OUT_DIR/app.jsa"
+    "$JAVA" -XX:ArchiveClassesAtExit="$OUT_DIR/app.jsa" -Xlog:cds=off -Xlog:cds+dynamic=off \
+        -cp "$JAR" com.febrie.tools.StartupTraining "$ITERATIONS"
+    echo "AppCDS 아카이브 생성 완료: $OUT_DIR/app.jsa"
+fi
+echo "실행: scripts/start.sh"
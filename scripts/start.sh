@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# 결제 서버를 기동 캐시와 함께 실행합니다. 캐시가 없으면 일반 모드로 실행합니다. (scripts/aot-cache.sh 참고)
+# 설정은 -D 옵션으로 덮어쓸 수 있습니다. 예: scripts/start.sh -Dserver.port=8080 -Dgame-server-urls=http://gs1:7998,http://gs2:7998
+# 게임 서버 서명 키는 필수이며 GAME_SERVER_SIGNING_KEY 환경 변수(또는 -Dgame-server-signing-key)로 지정합니다.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="${JAR:-target/Test01-1.0-SNAPSHOT.jar}"
+OUT_DIR="$(dirname "$JAR")"
+
+CACHE_OPTS=()
+if [ -f "$OUT_DIR/app.aot" ]; then
+    CACHE_OPTS=(-XX:AOTCache="$OUT_DIR/app.aot")
+elif [ -f "$OUT_DIR/app.jsa" ]; then
+    CACHE_OPTS=(-XX:SharedArchiveFile="$OUT_DIR/app.jsa")
+fi
+
+exec "$JAVA" ${CACHE_OPTS[@]+"${CACHE_OPTS[@]}"} "$@" -jar "$JAR"
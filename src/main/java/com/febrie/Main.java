@@ -8,29 +8,49 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 public class Main {
     private static final Logger log = Logging.getLogger(Main.class);
-    private static final int port = 8080;
+    private static final int DEFAULT_PORT = 8080;
+    private static final String DEFAULT_GAME_SERVER_URL = "http://localhost:7998";
 
     @Getter
     private final static Properties config = new Properties();
+    private static volatile boolean configLoaded;
 
     public static void main(String @NotNull [] args) {
+        loadConfig();
         serverStart();
     }
 
     public static void serverStart() {
+        // 핸들러 초기화 전에 설정이 준비되어 있어야 함
+        loadConfig();
         Logging.info(log, "결제 서버 시작 중...");
+        int port = getPort();
         try {
-            new HttpServer(port).start();
+            new HttpServer(port, getGameServerUrls()).start();
             Logging.info(log, "서버가 http://localhost:{}/ 에서 실행 중입니다", port);
 
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
             Logging.error(log, "서버 시작 실패: {}", e.getMessage(), e);
             System.exit(1);
         }
+        Logging.info(log, "서버 초기화가 완료되었습니다!");
+    }
+
+    /**
+     * cryptoKeys.properties 설정 파일을 로드합니다.
+     * <p>
+     * 핸들러가 초기화 시점에 키를 읽을 수 있도록 서버 바인드 전에 호출해야 하며, 여러 번 호출해도 한 번만 로드합니다.
+     */
+    public static synchronized void loadConfig() {
+        if (configLoaded) return;
+        configLoaded = true;
+
         try (InputStream configStream = Main.class.getClassLoader().getResourceAsStream("cryptoKeys.properties")) {
             if (configStream != null) {
                 config.load(configStream);
@@ -41,7 +61,37 @@ public class Main {
         } catch (Exception e) {
             Logging.warn(log, "설정 파일 로드 중 오류 발생", e);
         }
-        Logging.info(log, "서버 초기화가 완료되었습니다!");
+    }
+
+    /**
+     * 설정 값을 반환합니다. 같은 이름의 시스템 속성(-D)이 있으면 설정 파일보다 우선합니다.
+     */
+    public static String getSetting(@NotNull String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? value : config.getProperty(key, defaultValue);
+    }
+
+    /**
+     * 서버 포트 ({@code server.port}, 기본값 8080)
+     */
+    public static int getPort() {
+        String value = getSetting("server.port", String.valueOf(DEFAULT_PORT));
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            Logging.warn(log, "올바르지 않은 포트 번호: {}. 기본 포트({})를 사용합니다.", value, DEFAULT_PORT);
+            return DEFAULT_PORT;
+        }
+    }
+
+    /**
+     * 게임 서버 샤드 URL 목록 ({@code game-server-urls}, 쉼표로 구분)
+     */
+    public static @NotNull List<String> getGameServerUrls() {
+        return Arrays.stream(getSetting("game-server-urls", DEFAULT_GAME_SERVER_URL).split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
     }
 
 }
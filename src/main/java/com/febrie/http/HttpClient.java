@@ -9,9 +9,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class HttpClient {
@@ -24,9 +26,24 @@ public class HttpClient {
 
     public JsonObject sendRequest(@NotNull HttpMethod method, JsonObject headers, JsonObject body) throws IOException {
         HttpURLConnection cn = HttpUtils.getDefaultConnection(URL);
-        JsonObject responseData = readData(cn, method, headers, body);
-        cn.disconnect();
-        return responseData;
+        // 멱등이 아닌 요청은 고정 타임아웃을 쓰고, 응답 시간도 적응형 타임아웃 계산에 섞지 않음
+        LatencyTracker tracker = method.isIdempotent() ? HttpUtils.getLatencyTracker(URL) : null;
+        if (tracker == null) {
+            cn.setConnectTimeout((int) LatencyTracker.NON_IDEMPOTENT_TIMEOUT_MILLIS);
+            cn.setReadTimeout((int) LatencyTracker.NON_IDEMPOTENT_TIMEOUT_MILLIS);
+        }
+        long start = System.nanoTime();
+        try {
+            JsonObject responseData = readData(cn, method, headers, body);
+            if (tracker != null) tracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return responseData;
+        } catch (SocketTimeoutException e) {
+            // 타임아웃도 지연으로 기록해 다음 요청의 타임아웃에 반영
+            if (tracker != null) tracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            throw e;
+        } finally {
+            cn.disconnect();
+        }
     }
 
     private JsonObject readData(@NotNull HttpURLConnection cn, @NotNull HttpMethod method, JsonObject headers, JsonObject body) throws IOException {
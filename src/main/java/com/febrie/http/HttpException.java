@@ -0,0 +1,36 @@
+package com.febrie.http;
+
+import lombok.Getter;
+
+import java.io.Serial;
+
+/**
+ * 특정 HTTP 상태 코드로 응답해야 하는 오류
+ * <p>
+ * {@link Router}가 받아서 {@code {"success":false,"message":...}} 형태의 JSON 에러 응답으로 변환합니다.
+ */
+public class HttpException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Getter
+    private final int statusCode;
+
+    public HttpException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public static HttpException badRequest(String message) {
+        return new HttpException(400, message);
+    }
+
+    public static HttpException notFound() {
+        return new HttpException(404, "요청한 경로를 찾을 수 없습니다.");
+    }
+
+    public static HttpException methodNotAllowed() {
+        return new HttpException(405, "지원하지 않는 HTTP 메소드입니다.");
+    }
+}
@@ -1,5 +1,29 @@
 package com.febrie.http;
 
+import org.jetbrains.annotations.Nullable;
+
 public enum HttpMethod {
-    GET, POST, PUT, DELETE
+    GET, POST, PUT, DELETE;
+
+    /**
+     * 같은 요청을 여러 번 보내도 결과가 같은 메소드인지 여부 (POST 외 모두)
+     */
+    public boolean isIdempotent() {
+        return this != POST;
+    }
+
+    /**
+     * 요청 메소드 문자열을 변환합니다. 길이로 후보를 좁힌 뒤 후보와 전체 문자열을 비교합니다.
+     *
+     * @param method 요청 메소드 (대문자)
+     * @return 대응하는 메소드, 지원하지 않으면 null
+     */
+    public static @Nullable HttpMethod parse(String method) {
+        return switch (method.length()) {
+            case 3 -> "GET".equals(method) ? GET : "PUT".equals(method) ? PUT : null;
+            case 4 -> "POST".equals(method) ? POST : null;
+            case 6 -> "DELETE".equals(method) ? DELETE : null;
+            default -> null;
+        };
+    }
 }
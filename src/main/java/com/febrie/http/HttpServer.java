@@ -1,30 +1,62 @@
 
 package com.febrie.http;
 
-import com.febrie.payment.PaymentAPI;
+import com.febrie.http.capture.TrafficCaptureFilter;
 import com.febrie.payment.PaymentAPIImpl;
-import com.febrie.payment.PaymentHandler;
+import com.febrie.payment.PaymentRoutes;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class HttpServer {
     private final com.sun.net.httpserver.HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(10);
+    private final ExecutorService batchExecutor = Executors.newFixedThreadPool(16); // 배치 결제 항목 처리용
+    private PaymentAPIImpl paymentAPI;
 
     public HttpServer(int port) throws IOException {
-        this.server = com.sun.net.httpserver.HttpServer.create(new InetSocketAddress(port), 0);
-        this.server.setExecutor(Executors.newFixedThreadPool(10));
-        setupApiHandlers();
+        this(port, List.of("http://localhost:7998"));
+    }
+
+    public HttpServer(int port, List<String> gameServerUrls) throws IOException {
+        this.server = HttpServers.create(new InetSocketAddress(port));
+        this.server.setExecutor(executor);
+        setupApiHandlers(gameServerUrls);
     }
 
     public void start() {
         server.start();
     }
 
-    private void setupApiHandlers() {
-        PaymentAPI paymentAPI = new PaymentAPIImpl();
-        server.createContext("/api/payment/process", new PaymentHandler(paymentAPI));
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public PaymentAPIImpl getPaymentAPI() {
+        return paymentAPI;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        // 배치 항목은 지급 작업을 제출하므로 결제 API보다 먼저 종료
+        batchExecutor.shutdown();
+        try {
+            batchExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batchExecutor.shutdownNow();
+        paymentAPI.shutdown();
+    }
+
+    private void setupApiHandlers(List<String> gameServerUrls) {
+        paymentAPI = new PaymentAPIImpl(gameServerUrls);
+        TrafficCaptureFilter.installIfEnabled(server.createContext("/", PaymentRoutes.create(paymentAPI, batchExecutor)));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.febrie.http;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * JDK {@link com.sun.net.httpserver.HttpServer} 생성 도우미
+ * <p>
+ * 이 프로젝트의 모든 HTTP 서버(결제 서버, 게임 서버 대역)는 이 메소드로 생성합니다.
+ */
+public final class HttpServers {
+
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private HttpServers() {
+    }
+
+    /**
+     * 주소에 바인드된 서버를 생성합니다.
+     * <p>
+     * keep-alive 연결에서 Nagle 알고리즘과 지연 ACK가 겹쳐 응답이 약 40ms씩 늦어지지 않도록 TCP_NODELAY를 켭니다.
+     * JDK 서버는 이 설정을 처음 서버를 만들 때 한 번만 읽으므로 생성 전에 지정하며, 명시적으로 지정한 값이 있으면 그대로 사용합니다.
+     *
+     * @param address 바인드할 주소
+     */
+    public static @NotNull com.sun.net.httpserver.HttpServer create(@NotNull InetSocketAddress address) throws IOException {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        return com.sun.net.httpserver.HttpServer.create(address, 0);
+    }
+}
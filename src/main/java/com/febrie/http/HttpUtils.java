@@ -8,6 +8,13 @@ import java.net.URL;
 
 public class HttpUtils {
 
+    /**
+     * 연결 수립 타임아웃
+     * <p>
+     * 읽기 타임아웃은 업스트림 응답 시간 분포에 맞춰 바뀌지만, 연결 수립 시간은 응답 처리 시간과 무관하므로 고정값을 사용합니다.
+     */
+    public static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+
     public static @NotNull HttpURLConnection getDefaultConnection(URL url) throws IOException {
         HttpURLConnection cn = getEmptyConnection(url);
         cn.setRequestProperty("Content-Type", "application/json");
@@ -16,9 +23,13 @@ public class HttpUtils {
 
     public static @NotNull HttpURLConnection getEmptyConnection(@NotNull URL url) throws IOException {
         HttpURLConnection cn = (HttpURLConnection) url.openConnection();
-        cn.setReadTimeout(10000);
-        cn.setConnectTimeout(10000);
+        cn.setReadTimeout((int) getLatencyTracker(url).timeoutMillis());
+        cn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
         return cn;
     }
 
+    public static @NotNull LatencyTracker getLatencyTracker(@NotNull URL url) {
+        return LatencyTracker.forUpstream(url.getHost() + ":" + (url.getPort() == -1 ? url.getDefaultPort() : url.getPort()));
+    }
+
 }
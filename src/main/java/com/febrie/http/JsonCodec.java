@@ -0,0 +1,155 @@
+package com.febrie.http;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청/응답 JSON 변환
+ * <p>
+ * 요청은 평탄한 JSON 객체로 읽어 문자열, 정수(Integer), 실수(Double), 불리언 값의 Map으로 변환하고,
+ * 중첩된 값은 JSON 문자열로 보관합니다.
+ */
+public class JsonCodec {
+
+    /**
+     * JSON 문자열을 Map으로 파싱합니다. 빈 문자열은 빈 Map으로 취급합니다.
+     *
+     * @throws HttpException JSON 객체가 아닌 경우 (400)
+     */
+    public static @NotNull Map<String, Object> parse(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            JsonElement element = JsonParser.parseString(json);
+            if (!element.isJsonObject()) {
+                throw HttpException.badRequest("요청 바디는 JSON 객체여야 합니다.");
+            }
+            return toMap(element);
+        } catch (JsonParseException e) {
+            throw HttpException.badRequest("요청 형식이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * JSON 객체를 Map으로 변환합니다.
+     */
+    public static @NotNull Map<String, Object> toMap(@NotNull JsonElement element) {
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+            JsonElement value = entry.getValue();
+            if (value.isJsonPrimitive()) {
+                JsonPrimitive primitive = value.getAsJsonPrimitive();
+                if (primitive.isBoolean()) {
+                    result.put(entry.getKey(), primitive.getAsBoolean());
+                } else if (primitive.isNumber()) {
+                    result.put(entry.getKey(), toNumber(primitive));
+                } else {
+                    result.put(entry.getKey(), primitive.getAsString());
+                }
+            } else if (!value.isJsonNull()) {
+                result.put(entry.getKey(), value.toString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Map을 JSON 문자열로 변환합니다.
+     * <p>
+     * 중첩된 Map과 컬렉션은 JSON 객체/배열로, 문자열/숫자/불리언/null 외의 값은 {@code toString()} 문자열로 씁니다.
+     *
+     * @throws IllegalArgumentException 값에 NaN 또는 무한대가 있는 경우 (JSON으로 표현할 수 없음)
+     */
+    public static @NotNull String toJson(@NotNull Map<String, Object> map) {
+        StringBuilder json = new StringBuilder();
+        appendObject(json, map);
+        return json.toString();
+    }
+
+    private static void appendObject(StringBuilder json, Map<?, ?> map) {
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+
+            appendString(json, String.valueOf(entry.getKey()));
+            json.append(':');
+            appendValue(json, entry.getValue());
+        }
+        json.append('}');
+    }
+
+    private static void appendValue(StringBuilder json, Object value) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof String text) {
+            appendString(json, text);
+        } else if (value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof Number number) {
+            if ((number instanceof Double || number instanceof Float) && !Double.isFinite(number.doubleValue())) {
+                throw new IllegalArgumentException("JSON으로 표현할 수 없는 숫자입니다: " + number);
+            }
+            json.append(number);
+        } else if (value instanceof Map<?, ?> nested) {
+            appendObject(json, nested);
+        } else if (value instanceof Iterable<?> items) {
+            json.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                appendValue(json, item);
+            }
+            json.append(']');
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static Number toNumber(JsonPrimitive primitive) {
+        String number = primitive.getAsString();
+        try {
+            if (number.contains(".")) {
+                return Double.parseDouble(number);
+            }
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            return primitive.getAsDouble();
+        }
+    }
+
+    private static void appendString(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
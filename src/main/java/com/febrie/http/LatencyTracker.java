@@ -0,0 +1,141 @@
+package com.febrie.http;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 업스트림별 응답 시간을 롤링 히스토그램으로 기록하고, 이를 바탕으로 타임아웃과 헤징 지연을 계산합니다.
+ * <p>
+ * 최근 1분을 10초 단위 구간 6개로 나누어 기록하며, 버킷 경계는 1ms부터 1.25배씩 증가합니다.
+ * 표본이 충분하지 않으면 기본 타임아웃(10초)을 사용하고 헤징은 하지 않습니다.
+ * 적응형 타임아웃은 멱등 요청에만 사용하며, 멱등이 아닌 요청은 {@link #NON_IDEMPOTENT_TIMEOUT_MILLIS}를 사용하고 기록하지 않습니다.
+ */
+public class LatencyTracker {
+
+    /**
+     * 멱등이 아닌 요청(예: 크레딧 지급)의 고정 타임아웃
+     * <p>
+     * 느리게 성공한 요청을 실패로 처리하면 재처리 과정에서 중복 지급이 생길 수 있으므로 응답 시간 분포와 관계없이 넉넉하게 기다립니다.
+     */
+    public static final long NON_IDEMPOTENT_TIMEOUT_MILLIS = 10_000;
+
+    private static final Map<String, LatencyTracker> TRACKERS = new ConcurrentHashMap<>();
+
+    private static final int BUCKETS = 48;
+    private static final double BUCKET_GROWTH = 1.25;
+    private static final long[] BUCKET_UPPER_MILLIS = new long[BUCKETS];
+    private static final int SLICES = 6;
+    private static final long SLICE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final int MIN_SAMPLES = 20;
+    private static final double TIMEOUT_MULTIPLIER = 3.0;
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+    private static final long MIN_TIMEOUT_MILLIS = 500;
+    private static final long MAX_TIMEOUT_MILLIS = 10_000;
+    private static final long MIN_HEDGE_DELAY_MILLIS = 20;
+
+    static {
+        double bound = 1;
+        for (int i = 0; i < BUCKETS; i++) {
+            BUCKET_UPPER_MILLIS[i] = (long) Math.ceil(bound);
+            bound *= BUCKET_GROWTH;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLICES * BUCKETS);
+    private final AtomicLongArray sliceEpochs = new AtomicLongArray(SLICES);
+
+    /**
+     * 업스트림 식별자(예: host:port)에 해당하는 추적기를 반환합니다.
+     */
+    public static @NotNull LatencyTracker forUpstream(@NotNull String upstream) {
+        return TRACKERS.computeIfAbsent(upstream, k -> new LatencyTracker());
+    }
+
+    /**
+     * 응답 시간을 기록합니다.
+     *
+     * @param latencyMillis 응답 시간 (밀리초)
+     */
+    public void record(long latencyMillis) {
+        long epoch = System.currentTimeMillis() / SLICE_MILLIS;
+        int slice = (int) (epoch % SLICES);
+        rotate(slice, epoch);
+        counts.incrementAndGet(slice * BUCKETS + bucketOf(latencyMillis));
+    }
+
+    /**
+     * 최근 구간의 백분위 응답 시간을 계산합니다.
+     *
+     * @param percentile 0~1 사이 백분위 (예: 0.99)
+     * @return 백분위 응답 시간 (밀리초), 표본이 부족하면 -1
+     */
+    public long percentile(double percentile) {
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        long oldestEpoch = System.currentTimeMillis() / SLICE_MILLIS - SLICES + 1;
+        for (int slice = 0; slice < SLICES; slice++) {
+            if (sliceEpochs.get(slice) < oldestEpoch) continue;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                long count = counts.get(slice * BUCKETS + bucket);
+                merged[bucket] += count;
+                total += count;
+            }
+        }
+        if (total < MIN_SAMPLES) return -1;
+
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += merged[bucket];
+            if (seen >= rank) return BUCKET_UPPER_MILLIS[bucket];
+        }
+        return BUCKET_UPPER_MILLIS[BUCKETS - 1];
+    }
+
+    /**
+     * p99 x 3을 최소/최대 범위로 제한한 요청 타임아웃을 반환합니다.
+     */
+    public long timeoutMillis() {
+        long p99 = percentile(0.99);
+        if (p99 < 0) return DEFAULT_TIMEOUT_MILLIS;
+        return clamp((long) (p99 * TIMEOUT_MULTIPLIER), MIN_TIMEOUT_MILLIS, MAX_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 헤징 요청을 보내기 전까지 기다릴 시간(p95)을 반환합니다.
+     *
+     * @return 대기 시간 (밀리초), 표본이 부족하면 -1 (헤징하지 않음)
+     */
+    public long hedgeDelayMillis() {
+        long p95 = percentile(0.95);
+        if (p95 < 0) return -1;
+        return clamp(p95, MIN_HEDGE_DELAY_MILLIS, timeoutMillis());
+    }
+
+    /**
+     * 구간이 새 시간대로 넘어갔으면 이전 기록을 비웁니다.
+     */
+    private void rotate(int slice, long epoch) {
+        long current = sliceEpochs.get(slice);
+        if (current != epoch && sliceEpochs.compareAndSet(slice, current, epoch)) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts.set(slice * BUCKETS + bucket, 0);
+            }
+        }
+    }
+
+    private static int bucketOf(long latencyMillis) {
+        if (latencyMillis <= 1) return 0;
+        int bucket = (int) Math.ceil(Math.log(latencyMillis) / Math.log(BUCKET_GROWTH));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
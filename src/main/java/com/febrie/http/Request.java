@@ -0,0 +1,73 @@
+package com.febrie.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * {@link Router}가 핸들러에 전달하는 요청
+ */
+public class Request {
+
+    @Getter
+    private final HttpExchange exchange;
+    @Getter
+    private final HttpMethod method;
+    private final String[] paramNames;
+    private final String[] paramValues;
+    private boolean detached;
+
+    Request(HttpExchange exchange, HttpMethod method, String[] paramNames, String[] paramValues) {
+        this.exchange = exchange;
+        this.method = method;
+        this.paramNames = paramNames;
+        this.paramValues = paramValues;
+    }
+
+    /**
+     * 경로 파라미터 값을 반환합니다.
+     *
+     * @param name 라우트 패턴의 파라미터 이름 (예: {@code {orderId}}의 orderId)
+     */
+    public @Nullable String pathParam(@NotNull String name) {
+        for (int i = 0; i < paramNames.length; i++) {
+            if (paramNames[i].equals(name)) return paramValues[i];
+        }
+        return null;
+    }
+
+    /**
+     * 요청 바디를 문자열로 읽습니다.
+     */
+    public @NotNull String body() throws IOException {
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 요청 바디를 JSON 객체로 읽습니다.
+     *
+     * @throws HttpException 요청 바디가 JSON 객체가 아닌 경우 (400)
+     */
+    public @NotNull Map<String, Object> json() throws IOException {
+        return JsonCodec.parse(body());
+    }
+
+    /**
+     * 응답 스트림을 핸들러가 직접 관리하도록 합니다. 라우터는 교환을 닫지 않습니다.
+     */
+    public void detach() {
+        detached = true;
+    }
+
+    boolean isDetached() {
+        return detached;
+    }
+}
@@ -0,0 +1,19 @@
+package com.febrie.http;
+
+import java.util.Map;
+
+/**
+ * {@link Router}에 등록되는 요청 처리 함수
+ */
+@FunctionalInterface
+public interface RouteHandler {
+
+    /**
+     * 요청을 처리합니다.
+     *
+     * @param request 요청
+     * @return 200 상태로 전송할 JSON 응답 데이터, 핸들러가 직접 응답을 보낸 경우 null
+     * @throws HttpException 특정 상태 코드로 응답해야 하는 경우
+     */
+    Map<String, Object> handle(Request request) throws Exception;
+}
@@ -0,0 +1,171 @@
+package com.febrie.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경로 트라이 기반 요청 라우터
+ * <p>
+ * 라우트는 서버 시작 전에 등록하며, 경로 세그먼트 단위 트라이로 미리 구성됩니다.
+ * {@code {name}} 형태의 세그먼트는 경로 파라미터이고, 같은 위치의 고정 세그먼트가 우선합니다.
+ * 메소드별 핸들러는 {@link HttpMethod} 순서로 배열에 저장되어 문자열 비교 없이 선택됩니다.
+ * 요청 바디/응답 JSON 변환과 에러 응답은 모든 라우트가 공유합니다.
+ */
+@Slf4j
+public class Router implements HttpHandler {
+
+    private final Node root = new Node();
+    private int maxParams;
+
+    /**
+     * 라우트를 등록합니다.
+     *
+     * @param method  HTTP 메소드
+     * @param pattern 경로 패턴 (예: {@code /api/payment/{orderId}/events})
+     * @param handler 요청 처리 함수
+     * @return 이 라우터
+     */
+    public Router route(@NotNull HttpMethod method, @NotNull String pattern, @NotNull RouteHandler handler) {
+        Node node = root;
+        List<String> paramNames = new ArrayList<>();
+
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) continue;
+
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+                if (node.param == null) {
+                    node.param = new Node();
+                    node.paramName = name;
+                } else if (!node.paramName.equals(name)) {
+                    throw new IllegalArgumentException("같은 위치의 경로 파라미터 이름이 다릅니다: " + pattern);
+                }
+                paramNames.add(name);
+                node = node.param;
+            } else {
+                node = node.children.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+
+        if (node.handlers[method.ordinal()] != null) {
+            throw new IllegalStateException("이미 등록된 라우트입니다: " + method + " " + pattern);
+        }
+        node.handlers[method.ordinal()] = handler;
+        node.paramNames = paramNames.toArray(new String[0]);
+        maxParams = Math.max(maxParams, paramNames.size());
+        return this;
+    }
+
+    public Router get(@NotNull String pattern, @NotNull RouteHandler handler) {
+        return route(HttpMethod.GET, pattern, handler);
+    }
+
+    public Router post(@NotNull String pattern, @NotNull RouteHandler handler) {
+        return route(HttpMethod.POST, pattern, handler);
+    }
+
+    @Override
+    public void handle(@NotNull HttpExchange exchange) throws IOException {
+        Request request = null;
+        try {
+            String[] paramValues = new String[maxParams];
+            Node node = match(root, exchange.getRequestURI().getPath(), 0, paramValues, 0);
+            if (node == null || node.paramNames == null) {
+                throw HttpException.notFound();
+            }
+
+            HttpMethod method = HttpMethod.parse(exchange.getRequestMethod());
+            RouteHandler handler = method == null ? null : node.handlers[method.ordinal()];
+            if (handler == null) {
+                throw HttpException.methodNotAllowed();
+            }
+
+            request = new Request(exchange, method, node.paramNames, paramValues);
+            Map<String, Object> responseData = handler.handle(request);
+            if (responseData != null) {
+                sendJsonResponse(exchange, 200, responseData);
+            }
+        } catch (HttpException e) {
+            sendErrorResponse(exchange, e.getStatusCode(), e.getMessage());
+        } catch (Exception e) {
+            log.error("요청 처리 중 오류 발생: {} {}, {}", exchange.getRequestMethod(), exchange.getRequestURI().getPath(), e.getMessage(), e);
+            sendErrorResponse(exchange, 500, "서버 오류: " + e.getMessage());
+        } finally {
+            if (request == null || !request.isDetached()) {
+                exchange.close();
+            }
+        }
+    }
+
+    /**
+     * 경로를 트라이에서 찾습니다. 고정 세그먼트를 먼저 시도하고, 실패하면 경로 파라미터로 되돌아가 시도합니다.
+     */
+    private @Nullable Node match(Node node, String path, int from, String[] paramValues, int paramIndex) {
+        while (from < path.length() && path.charAt(from) == '/') from++;
+        if (from >= path.length()) return node;
+
+        int end = path.indexOf('/', from);
+        if (end < 0) end = path.length();
+        String segment = path.substring(from, end);
+
+        Node child = node.children.get(segment);
+        if (child != null) {
+            Node found = match(child, path, end, paramValues, paramIndex);
+            if (found != null && found.paramNames != null) return found;
+        }
+        if (node.param != null) {
+            paramValues[paramIndex] = segment;
+            return match(node.param, path, end, paramValues, paramIndex + 1);
+        }
+        return null;
+    }
+
+    /**
+     * JSON 응답을 전송합니다.
+     */
+    private void sendJsonResponse(HttpExchange exchange, int statusCode, Map<String, Object> data) throws IOException {
+        byte[] response = JsonCodec.toJson(data).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(statusCode, response.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+
+    /**
+     * 에러 응답을 전송합니다. 이미 응답이 시작된 경우(스트리밍)는 전송하지 않습니다.
+     */
+    private void sendErrorResponse(HttpExchange exchange, int statusCode, String message) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            log.warn("응답 전송 이후 오류 발생: status={}, message={}", statusCode, message);
+            return;
+        }
+
+        Map<String, Object> errorData = new HashMap<>();
+        errorData.put("success", false);
+        errorData.put("message", message);
+
+        sendJsonResponse(exchange, statusCode, errorData);
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final RouteHandler[] handlers = new RouteHandler[HttpMethod.values().length];
+        private Node param;
+        private String paramName;
+        private String[] paramNames;
+    }
+}
@@ -0,0 +1,98 @@
+package com.febrie.http.capture;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캡처 로그 바이너리 형식
+ * <p>
+ * 헤더(매직 넘버, 버전) 뒤에 요청 한 건씩 다음 순서로 기록합니다.
+ * 시작 시각, 경과 시간, 처리 시간(long), 메소드, URI(길이 + UTF-8 바이트), 요청 바디(길이 + 바이트), 상태 코드(int), 응답 바디(길이 + 바이트)
+ * <p>
+ * 버전 1은 메소드와 URI를 {@link DataOutputStream#writeUTF}로 기록해 64KB가 넘는 URI를 담을 수 없었으며, 읽기만 지원합니다.
+ */
+public class CaptureLog {
+
+    private static final int MAGIC = 0x45524350; // "ERCP"
+    private static final short VERSION = 2;
+    private static final short VERSION_MODIFIED_UTF = 1;
+
+    static void writeHeader(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    static void write(@NotNull DataOutputStream out, @NotNull CapturedExchange exchange) throws IOException {
+        out.writeLong(exchange.startMillis());
+        out.writeLong(exchange.offsetNanos());
+        out.writeLong(exchange.latencyNanos());
+        writeString(out, exchange.method());
+        writeString(out, exchange.uri());
+        out.writeInt(exchange.requestBody().length);
+        out.write(exchange.requestBody());
+        out.writeInt(exchange.status());
+        out.writeInt(exchange.responseBody().length);
+        out.write(exchange.responseBody());
+    }
+
+    /**
+     * 캡처 로그 파일을 읽습니다. 마지막 기록이 잘려 있으면 그 앞까지만 반환합니다.
+     *
+     * @param path 캡처 로그 파일
+     * @return 캡처된 요청 목록 (기록 순서)
+     * @throws IOException 파일을 읽을 수 없거나 캡처 로그 형식이 아닌 경우
+     */
+    public static @NotNull List<CapturedExchange> readAll(@NotNull Path path) throws IOException {
+        List<CapturedExchange> exchanges = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            short version = in.readInt() == MAGIC ? in.readShort() : -1;
+            if (version != VERSION && version != VERSION_MODIFIED_UTF) {
+                throw new IOException("캡처 로그 형식이 아닙니다: " + path);
+            }
+            boolean modifiedUtf = version == VERSION_MODIFIED_UTF;
+            while (true) {
+                try {
+                    long startMillis = in.readLong();
+                    long offsetNanos = in.readLong();
+                    long latencyNanos = in.readLong();
+                    String method = modifiedUtf ? in.readUTF() : readString(in);
+                    String uri = modifiedUtf ? in.readUTF() : readString(in);
+                    byte[] requestBody = readBytes(in);
+                    int status = in.readInt();
+                    byte[] responseBody = readBytes(in);
+                    exchanges.add(new CapturedExchange(startMillis, offsetNanos, latencyNanos,
+                            method, uri, requestBody, status, responseBody));
+                } catch (EOFException e) {
+                    return exchanges;
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) throw new EOFException();
+        return bytes;
+    }
+}
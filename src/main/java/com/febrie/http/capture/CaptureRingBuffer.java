@@ -0,0 +1,77 @@
+package com.febrie.http.capture;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 요청 스레드가 쓰고 하나의 기록 스레드가 읽는 잠금 없는 고정 크기 링 버퍼
+ * <p>
+ * 슬롯마다 순번을 두어 생산자는 CAS로 자리를 확보하고, 버퍼가 가득 차면 기다리지 않고 버립니다.
+ */
+class CaptureRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<CapturedExchange> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private long head;
+
+    CaptureRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    /**
+     * 항목을 추가합니다. 버퍼가 가득 차면 버리고 false를 반환합니다.
+     */
+    boolean offer(CapturedExchange exchange) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, exchange);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                dropped.increment();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 항목을 꺼냅니다. 기록 스레드 하나만 호출해야 합니다.
+     *
+     * @return 꺼낸 항목, 비어 있으면 null
+     */
+    CapturedExchange poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) return null;
+
+        CapturedExchange exchange = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return exchange;
+    }
+
+    /**
+     * 꺼낼 항목이 없는지 확인합니다. 기록 스레드만 호출해야 합니다.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,18 @@
+package com.febrie.http.capture;
+
+/**
+ * 캡처된 요청/응답 한 건
+ *
+ * @param startMillis  요청 시작 시각 (epoch 밀리초)
+ * @param offsetNanos  캡처 시작 이후 경과 시간 (재생 간격 계산용)
+ * @param latencyNanos 요청 처리 시간
+ * @param method       HTTP 메소드
+ * @param uri          요청 경로 (쿼리 포함)
+ * @param requestBody  요청 바디
+ * @param status       응답 상태 코드
+ * @param responseBody 응답 바디
+ */
+public record CapturedExchange(long startMillis, long offsetNanos, long latencyNanos,
+                               String method, String uri, byte[] requestBody,
+                               int status, byte[] responseBody) {
+}
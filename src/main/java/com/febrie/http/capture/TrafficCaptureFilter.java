@@ -0,0 +1,261 @@
+package com.febrie.http.capture;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 요청/응답을 캡처 로그로 기록하는 필터
+ * <p>
+ * 요청 스레드는 바디를 읽고 쓰는 동안 복사본만 남기고, 완료된 요청을 잠금 없는 링 버퍼에 넣습니다.
+ * 파일 기록은 별도의 백그라운드 스레드가 담당하며, 버퍼가 가득 차면 캡처를 건너뜁니다.
+ * 기록 스레드는 버퍼를 비우면 파일을 flush하고 다음 요청이 들어올 때까지 멈춰 있으며, 기록할 수 없는 요청은 로그를 남기고 건너뜁니다.
+ * 요청 한 건은 메모리에서 먼저 직렬화한 뒤 파일에 쓰므로, 직렬화에 실패한 요청이 파일에 일부만 남지 않습니다.
+ * 결제 키 등 비밀 값({@link #SECRET_FIELDS})은 기록 스레드가 파일에 쓰기 전에 JSON 필드와 쿼리 파라미터에서 가립니다.
+ * {@code eroom.capture.file} 시스템 속성으로 파일 경로를 지정한 경우에만 설치됩니다.
+ */
+@Slf4j
+public class TrafficCaptureFilter extends Filter {
+
+    public static final String CAPTURE_FILE_PROPERTY = "eroom.capture.file";
+
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    /**
+     * 캡처 로그에 남기지 않는 필드 이름
+     */
+    private static final String SECRET_FIELDS = "paymentKey|secretKey|billingKey|customerKey|cardNumber|password|signature";
+    private static final String REDACTED = "REDACTED";
+    private static final Pattern SECRET_JSON_FIELD = Pattern.compile(
+            "(\"(?:" + SECRET_FIELDS + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"");
+    private static final Pattern SECRET_QUERY_PARAM = Pattern.compile("([?&](?:" + SECRET_FIELDS + ")=)[^&#]*");
+
+    private final CaptureRingBuffer buffer = new CaptureRingBuffer(BUFFER_CAPACITY);
+    private final long startNanos = System.nanoTime();
+    private final Path file;
+    private final Thread writer;
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running = true;
+    /**
+     * 기록 스레드가 버퍼가 빈 것을 보고 멈추려는 중인지 여부 (요청 스레드는 이때만 깨움)
+     */
+    private volatile boolean writerIdle;
+
+    public TrafficCaptureFilter(@NotNull Path file) throws IOException {
+        this.file = file;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        CaptureLog.writeHeader(out);
+
+        this.writer = new Thread(() -> writeLoop(out), "traffic-capture-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+
+    /**
+     * 캡처가 활성화되어 있으면 컨텍스트에 필터를 설치합니다.
+     *
+     * @param context 캡처할 HTTP 컨텍스트
+     */
+    public static void installIfEnabled(@NotNull HttpContext context) {
+        String path = System.getProperty(CAPTURE_FILE_PROPERTY);
+        if (path == null || path.isBlank()) return;
+
+        try {
+            context.getFilters().add(new TrafficCaptureFilter(Path.of(path)));
+            log.info("트래픽 캡처 활성화: {}", path);
+        } catch (IOException e) {
+            log.error("트래픽 캡처 파일을 열 수 없습니다: {}", path, e);
+        }
+    }
+
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+
+        CapturingInputStream in = new CapturingInputStream(exchange.getRequestBody());
+        CapturingOutputStream out = new CapturingOutputStream(exchange.getResponseBody());
+        exchange.setStreams(in, out);
+
+        try {
+            chain.doFilter(exchange);
+        } finally {
+            long end = System.nanoTime();
+            buffer.offer(new CapturedExchange(startMillis, start - startNanos, end - start,
+                    exchange.getRequestMethod(), exchange.getRequestURI().toString(),
+                    in.captured.toByteArray(), exchange.getResponseCode(), out.captured.toByteArray()));
+            if (writerIdle) LockSupport.unpark(writer);
+        }
+    }
+
+    @Override
+    public String description() {
+        return "트래픽 캡처 (" + file + ")";
+    }
+
+    /**
+     * 남은 기록을 모두 파일에 쓰고 기록 스레드를 종료합니다.
+     */
+    public void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.getDroppedCount() > 0) {
+            log.warn("트래픽 캡처 버퍼 초과로 {}건을 기록하지 못했습니다", buffer.getDroppedCount());
+        }
+        if (failed.sum() > 0) {
+            log.warn("트래픽 캡처 기록 오류로 {}건을 기록하지 못했습니다", failed.sum());
+        }
+    }
+
+    private void writeLoop(DataOutputStream out) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream recordOut = new DataOutputStream(record);
+        boolean unflushed = false;
+        try (out) {
+            while (true) {
+                CapturedExchange exchange = buffer.poll();
+                if (exchange != null) {
+                    unflushed |= writeRecord(out, record, recordOut, exchange);
+                    continue;
+                }
+                if (unflushed) {
+                    flush(out);
+                    unflushed = false;
+                }
+                if (!running) break;
+
+                // 멈추기 전에 버퍼를 다시 확인해, 그 사이에 들어온 요청의 깨우기 신호를 놓치지 않도록 함
+                writerIdle = true;
+                if (buffer.isEmpty() && running) LockSupport.park(this);
+                writerIdle = false;
+            }
+        } catch (IOException e) {
+            log.error("트래픽 캡처 파일을 닫는 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 요청 한 건을 직렬화해 파일에 씁니다. 실패하면 로그를 남기고 건너뜁니다.
+     *
+     * @return 파일에 썼으면 true
+     */
+    private boolean writeRecord(DataOutputStream out, ByteArrayOutputStream record, DataOutputStream recordOut,
+                                CapturedExchange exchange) {
+        try {
+            record.reset();
+            CaptureLog.write(recordOut, redact(exchange));
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("기록할 수 없는 캡처 요청을 건너뜁니다: {} ({})", exchange.method(), e.toString());
+            return false;
+        }
+        try {
+            record.writeTo(out);
+            return true;
+        } catch (IOException e) {
+            failed.increment();
+            log.error("트래픽 캡처 기록 중 오류 발생: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void flush(DataOutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            log.error("트래픽 캡처 기록 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private static CapturedExchange redact(CapturedExchange exchange) {
+        return new CapturedExchange(exchange.startMillis(), exchange.offsetNanos(), exchange.latencyNanos(),
+                exchange.method(), redact(exchange.uri(), SECRET_QUERY_PARAM, "$1" + REDACTED),
+                redact(exchange.requestBody()), exchange.status(), redact(exchange.responseBody()));
+    }
+
+    private static byte[] redact(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        String redacted = redact(text, SECRET_JSON_FIELD, "$1\"" + REDACTED + "\"");
+        // 가릴 값이 없으면 원본 바이트를 그대로 기록
+        return redacted == text ? body : redacted.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String redact(String text, Pattern pattern, String replacement) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.replaceAll(replacement) : text;
+    }
+
+    /**
+     * 읽은 요청 바디를 최대 {@link #MAX_BODY_BYTES}까지 복사해 두는 스트림
+     */
+    private static final class CapturingInputStream extends FilterInputStream {
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        private CapturingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && captured.size() < MAX_BODY_BYTES) captured.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) captured.write(b, off, Math.min(n, MAX_BODY_BYTES - captured.size()));
+            return n;
+        }
+    }
+
+    /**
+     * 쓴 응답 바디를 최대 {@link #MAX_BODY_BYTES}까지 복사해 두는 스트림
+     */
+    private static final class CapturingOutputStream extends FilterOutputStream {
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        private CapturingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (captured.size() < MAX_BODY_BYTES) captured.write(b);
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            captured.write(b, off, Math.min(len, MAX_BODY_BYTES - captured.size()));
+        }
+    }
+}
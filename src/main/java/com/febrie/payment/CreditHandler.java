@@ -0,0 +1,55 @@
+package com.febrie.payment;
+
+import com.febrie.http.HttpException;
+import com.febrie.http.Request;
+import com.febrie.http.RouteHandler;
+import com.febrie.payment.credit.CreditBalanceCache;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 사용자 크레딧 잔액 조회 요청을 처리하는 핸들러
+ * <p>
+ * {@code GET /api/credits/{uid}}는 캐시된 잔액을, {@link #stats(Request)}는 캐시 통계를 반환합니다.
+ */
+@Slf4j
+public class CreditHandler implements RouteHandler {
+
+    private final CreditBalanceCache cache;
+
+    public CreditHandler(CreditBalanceCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * 크레딧 잔액 조회 요청을 처리합니다.
+     */
+    @Override
+    public Map<String, Object> handle(@NotNull Request request) {
+        String uid = request.pathParam("uid");
+
+        int balance;
+        try {
+            balance = cache.get(uid);
+        } catch (Exception e) {
+            log.warn("게임 서버 크레딧 잔액 조회 실패: uid={}, {}", uid, e.getMessage());
+            throw new HttpException(502, "게임 서버에서 크레딧 잔액을 조회하지 못했습니다.");
+        }
+
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", true);
+        responseData.put("uid", uid);
+        responseData.put("balance", balance);
+        return responseData;
+    }
+
+    /**
+     * 캐시 통계 조회 요청을 처리합니다.
+     */
+    public Map<String, Object> stats(@NotNull Request request) {
+        return cache.getStats();
+    }
+}
@@ -16,6 +16,17 @@ public interface PaymentAPI {
      */
     boolean verifyPayment(String paymentId, double amount);
 
+    /**
+     * 사용자의 결제 빈도/금액 규칙을 포함하여 결제 정보를 검증합니다.
+     * 규칙은 판정만 하며, 결제 빈도에는 지급까지 마친 결제만 기록됩니다.
+     *
+     * @param userId    사용자 ID (null이면 사용자별 규칙은 적용하지 않음)
+     * @param paymentId 결제 ID
+     * @param amount    결제 금액
+     * @return 검증 결과 (true: 성공, false: 실패)
+     */
+    boolean verifyPayment(String userId, String paymentId, double amount);
+
     /**
      * 결제를 처리합니다.
      *
@@ -27,10 +38,28 @@ public interface PaymentAPI {
     String processPayment(String userId, double amount, String productId);
 
     /**
-     * 결제 성공 후 처리를 수행합니다.
+     * 결제사 승인과 결제 성공 후 처리를 호출 스레드에서 수행합니다.
+     * 결제 빈도/금액 규칙 한도 안이고 결제사 승인을 받은 경우에만 크레딧을 지급하며, 승인 정보가 없거나 승인에 실패하면 지급하지 않습니다.
      *
-     * @param paymentData 결제 데이터
+     * @param paymentData 결제 데이터 (paymentKey, orderId, amount 필수)
      * @return 처리 결과
      */
     Map<String, Object> handleSuccessPayment(Map<String, Object> paymentData);
+
+    /**
+     * 결제사 승인과 결제 성공 후 처리를 백그라운드에서 수행합니다.
+     * 승인에 실패하면 크레딧을 지급하지 않으며, 진행 상태는 주문 ID(orderId) 기준으로 결제 이벤트로 발행됩니다.
+     *
+     * @param paymentData 결제 데이터 (paymentKey, orderId, amount 필수)
+     */
+    void submitSuccessPayment(Map<String, Object> paymentData);
+
+    /**
+     * 크레딧을 지급하지 않을 주문을 실패로 처리하고, 주문 ID(orderId) 기준으로 실패 이벤트를 발행합니다.
+     *
+     * @param orderId 주문 ID
+     * @param message 실패 사유
+     * @return 처리 결과 (success: false)
+     */
+    Map<String, Object> rejectPayment(String orderId, String message);
 }
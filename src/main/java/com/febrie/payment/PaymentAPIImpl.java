@@ -1,17 +1,35 @@
 package com.febrie.payment;
 
+import com.febrie.http.JsonCodec;
+import com.febrie.payment.credit.CreditBalanceCache;
+import com.febrie.payment.credit.CreditCatalog;
+import com.febrie.payment.event.PaymentEventBus;
+import com.febrie.payment.event.PaymentStatus;
+import com.febrie.payment.fraud.VelocityRuleEngine;
+import com.febrie.payment.shard.GameServerCluster;
+import com.febrie.payment.shard.GameServerShard;
+import com.febrie.payment.signing.RequestSigner;
 import com.febrie.util.Logging;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
+import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * PaymentAPI 인터페이스 구현체
@@ -19,30 +37,68 @@ import java.util.UUID;
 @Slf4j
 public class PaymentAPIImpl implements PaymentAPI {
     
-    private final String gameServerUrl;
-    private final HttpClient httpClient;
+    private static final String VELOCITY_REJECTED_MESSAGE = "결제 빈도 제한을 초과했습니다. 잠시 후 다시 시도해주세요.";
+
+    private final GameServerCluster gameServers;
+    @Getter
+    private final PaymentEventBus eventBus = new PaymentEventBus();
+    private final ExecutorService successExecutor = Executors.newFixedThreadPool(4);
+    private final VelocityRuleEngine velocityRules = new VelocityRuleEngine();
+    /**
+     * 결제 빈도 판정과 잔액 캐시 TTL에 쓰는 현재 시각 (트래픽 재생 시 캡처 시각으로 대체)
+     */
+    private final LongSupplier clock;
+    /**
+     * 게임 서버 구매 요청 서명기 (서명 키가 설정되지 않았으면 생성 시 {@link IllegalStateException})
+     */
+    private final RequestSigner purchaseSigner = RequestSigner.fromConfig();
+    private final TossPaymentsClient tossPayments = TossPaymentsClient.fromConfig();
+    @Getter
+    private final CreditBalanceCache creditBalanceCache;
     
     public PaymentAPIImpl() {
         this("http://localhost:7998"); // 기본 게임 서버 URL
     }
     
     public PaymentAPIImpl(String gameServerUrl) {
-        this.gameServerUrl = gameServerUrl;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
-        log.info("결제 API 초기화 완료. 게임 서버 URL: {}", gameServerUrl);
+        this(List.of(gameServerUrl));
+    }
+
+    public PaymentAPIImpl(List<String> gameServerUrls) {
+        this(gameServerUrls, System::currentTimeMillis);
+    }
+
+    /**
+     * @param gameServerUrls 게임 서버 샤드 URL 목록
+     * @param clock          현재 시각 (epoch 밀리초)
+     */
+    public PaymentAPIImpl(List<String> gameServerUrls, LongSupplier clock) {
+        this.gameServers = new GameServerCluster(gameServerUrls);
+        this.clock = clock;
+        this.creditBalanceCache = new CreditBalanceCache(this::loadCreditBalance, 10_000, 30_000, clock);
+        log.info("결제 API 초기화 완료. 게임 서버 URL: {}", gameServerUrls);
     }
 
     @Override
     public boolean verifyPayment(String paymentId, double amount) {
+        return verifyPayment(null, paymentId, amount);
+    }
+
+    @Override
+    public boolean verifyPayment(String userId, String paymentId, double amount) {
         // 결제 검증 로직
-        log.info("결제 검증: paymentId={}, amount={}", paymentId, amount);
-        
-        // 300원 미만은 자동 성공 처리 (프론트엔드 로직과 일치)
-        if (amount < 300) {
-            log.info("소액 결제 자동 성공 처리: {}", amount);
-            return true;
+        log.info("결제 검증: userId={}, paymentId={}, amount={}", userId, paymentId, amount);
+
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            log.warn("올바르지 않은 결제 금액: userId={}, paymentId={}, amount={}", userId, paymentId, amount);
+            return false;
+        }
+
+        // 결제 빈도/금액 규칙 확인 (소액 자동 처리 건도 포함). 기록은 실제 지급 단계에서만 함
+        VelocityRuleEngine.Verdict verdict = velocityRules.evaluate(userId, Math.round(amount), clock.getAsLong());
+        if (!verdict.isAllowed()) {
+            log.warn("결제 빈도 규칙 위반: userId={}, paymentId={}, amount={}, rule={}", userId, paymentId, amount, verdict);
+            return false;
         }
         
         // TODO: 실제 결제 검증 로직 구현 (결제 서비스 API 호출 등)
@@ -64,17 +120,55 @@ public class PaymentAPIImpl implements PaymentAPI {
 
     @Override
     public Map<String, Object> handleSuccessPayment(Map<String, Object> paymentData) {
+        return confirmAndGrant(paymentData, clock.getAsLong());
+    }
+
+    /**
+     * 승인 요청 전에 결제 빈도/금액 규칙을 판정합니다. 윈도우에는 기록하지 않습니다.
+     *
+     * @param acceptedAt 결제 요청을 받은 시각 (epoch 밀리초)
+     */
+    private VelocityRuleEngine.Verdict checkVelocity(String userId, String orderId, long amount, long acceptedAt) {
+        VelocityRuleEngine.Verdict verdict = velocityRules.evaluate(userId, amount, acceptedAt);
+        if (!verdict.isAllowed()) {
+            log.warn("결제 빈도 규칙 위반으로 지급하지 않습니다: userId={}, orderId={}, amount={}, rule={}",
+                    userId, orderId, amount, verdict);
+        }
+        return verdict;
+    }
+
+    private static String orderIdOf(Map<String, Object> paymentData) {
+        return paymentData.containsKey("orderId") ? paymentData.get("orderId").toString() : null;
+    }
+
+    /**
+     * 실패 결과를 만들고 결제 이벤트로 발행합니다.
+     */
+    private Map<String, Object> fail(String orderId, String message) {
+        eventBus.publish(orderId, PaymentStatus.FAILED, message);
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("message", message);
+        return result;
+    }
+
+    /**
+     * 크레딧을 지급하고 결과를 결제 이벤트로 발행합니다.
+     */
+    private Map<String, Object> grant(Map<String, Object> paymentData) {
         log.info("결제 성공 처리: {}", paymentData);
         
         Map<String, Object> result = new HashMap<>();
+        String orderId = orderIdOf(paymentData);
+        eventBus.publish(orderId, PaymentStatus.CONFIRMED, "결제가 확인되었습니다.");
         
         try {
             // 게임 서버에 결제 성공 정보 전달
-            String userId = (String) paymentData.get("uid");
+            String userId = paymentData.containsKey("uid") ? paymentData.get("uid").toString() : null;
             int creditAmount = paymentData.containsKey("creditAmount") ? 
                     Integer.parseInt(paymentData.get("creditAmount").toString()) : 0;
-            int price = paymentData.containsKey("price") ? 
-                    Integer.parseInt(paymentData.get("price").toString()) : 0;
+            long price = paymentData.containsKey("price") ?
+                    Math.round(Double.parseDouble(paymentData.get("price").toString())) : 0;
             
             // 게임 서버에 구매 정보 전송
             Map<String, Object> purchaseData = new HashMap<>();
@@ -85,10 +179,13 @@ public class PaymentAPIImpl implements PaymentAPI {
             purchaseData.put("price", price);
             
             boolean success = sendPurchaseInfoToGameServer(purchaseData);
+            // 지급 결과와 관계없이 잔액이 바뀌었을 수 있으므로 캐시 무효화
+            creditBalanceCache.invalidate(userId);
             
             result.put("success", success);
             result.put("paymentId", paymentData.getOrDefault("paymentKey", UUID.randomUUID().toString()));
             result.put("message", success ? "결제가 성공적으로 처리되었습니다." : "결제 처리 중 오류가 발생했습니다.");
+            eventBus.publish(orderId, success ? PaymentStatus.GRANTED : PaymentStatus.FAILED, (String) result.get("message"));
             
             Logging.info(log, "결제 성공 처리 완료: userId={}, creditAmount={}, price={}", 
                     userId, creditAmount, price);
@@ -96,10 +193,102 @@ public class PaymentAPIImpl implements PaymentAPI {
             log.error("결제 성공 처리 중 오류 발생: {}", e.getMessage(), e);
             result.put("success", false);
             result.put("message", "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+            eventBus.publish(orderId, PaymentStatus.FAILED, (String) result.get("message"));
         }
         
         return result;
     }
+
+    @Override
+    public void submitSuccessPayment(Map<String, Object> paymentData) {
+        // 지급 스레드의 대기 시간이 결제 빈도 윈도우에 섞이지 않도록 요청을 받은 시각으로 기록
+        long acceptedAt = clock.getAsLong();
+        successExecutor.execute(() -> confirmAndGrant(paymentData, acceptedAt));
+    }
+
+    @Override
+    public Map<String, Object> rejectPayment(String orderId, String message) {
+        log.warn("크레딧을 지급하지 않는 주문: orderId={}, {}", orderId, message);
+        return fail(orderId, message);
+    }
+
+    /**
+     * 결제사 승인을 먼저 받고, 승인된 경우에만 크레딧을 지급합니다. 승인 정보(paymentKey, orderId)가 없으면 지급하지 않습니다.
+     * 지급할 크레딧은 결제 금액에 해당하는 상품({@link CreditCatalog})으로 서버가 정하며, 클라이언트가 보낸 크레딧 수량이
+     * 상품과 다르거나 해당 금액의 상품이 없으면 승인을 요청하지 않고 실패 처리합니다.
+     * 지급 요청의 결제 금액은 클라이언트 값이 아니라 승인된 금액을 사용합니다.
+     * 결제 빈도 규칙은 승인 전에 판정만 하고 지급에 성공한 뒤에 기록합니다. 한도를 넘은 주문은 결제사 승인 없이(실제 결제 없이)
+     * 실패 처리되며, 승인이나 지급에 실패한 주문은 한도를 소모하지 않습니다.
+     */
+    private Map<String, Object> confirmAndGrant(Map<String, Object> paymentData, long acceptedAt) {
+        String orderId = orderIdOf(paymentData);
+        Object paymentKey = paymentData.get("paymentKey");
+        if (orderId == null || paymentKey == null) {
+            log.warn("결제 승인 정보가 없어 크레딧을 지급하지 않습니다: orderId={}", orderId);
+            return fail(orderId, "결제 승인 정보가 없어 크레딧을 지급하지 않습니다.");
+        }
+        long amount;
+        try {
+            amount = Math.round(Double.parseDouble(String.valueOf(paymentData.get("amount"))));
+        } catch (NumberFormatException e) {
+            return fail(orderId, "결제 금액 형식이 올바르지 않습니다.");
+        }
+        Integer credits = CreditCatalog.creditsFor(amount);
+        if (credits == null) {
+            log.warn("판매하지 않는 상품 금액으로 크레딧을 지급하지 않습니다: orderId={}, amount={}", orderId, amount);
+            return fail(orderId, "판매하지 않는 상품 금액입니다.");
+        }
+        if (paymentData.containsKey("creditAmount")) {
+            int requested;
+            try {
+                requested = Integer.parseInt(paymentData.get("creditAmount").toString());
+            } catch (NumberFormatException e) {
+                return fail(orderId, "크레딧 수량 형식이 올바르지 않습니다.");
+            }
+            if (requested != credits) {
+                log.warn("요청한 크레딧 수량이 상품과 다릅니다: orderId={}, amount={}, 요청={}, 상품={}", orderId, amount, requested, credits);
+                return fail(orderId, "결제 금액과 크레딧 수량이 상품과 일치하지 않습니다.");
+            }
+        }
+
+        String userId = paymentData.containsKey("uid") ? paymentData.get("uid").toString() : null;
+        if (!checkVelocity(userId, orderId, amount, acceptedAt).isAllowed()) {
+            return fail(orderId, VELOCITY_REJECTED_MESSAGE);
+        }
+
+        TossPaymentsClient.Confirmation confirmation = tossPayments.confirm(paymentKey.toString(), orderId, amount);
+        if (!confirmation.success()) {
+            log.warn("결제 승인 실패로 크레딧을 지급하지 않습니다: orderId={}, {}", orderId, confirmation.message());
+            return fail(orderId, confirmation.message());
+        }
+
+        Map<String, Object> confirmed = new HashMap<>(paymentData);
+        confirmed.put("price", confirmation.totalAmount());
+        confirmed.put("creditAmount", credits);
+        Map<String, Object> result = grant(confirmed);
+        if (Boolean.TRUE.equals(result.get("success"))) {
+            velocityRules.recordGranted(userId, amount, acceptedAt);
+        }
+        return result;
+    }
+
+    /**
+     * 스레드 풀과 이벤트 버스, 게임 서버 연결을 종료합니다. 대기 중인 지급 작업은 최대 5초까지 마저 처리합니다.
+     */
+    public void shutdown() {
+        successExecutor.shutdown();
+        try {
+            if (!successExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("종료 시점에 처리되지 않은 크레딧 지급 작업이 있습니다");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        successExecutor.shutdownNow();
+        eventBus.shutdown();
+        gameServers.shutdown();
+        tossPayments.close();
+    }
     
     /**
      * 게임 서버에 구매 정보를 전송합니다.
@@ -108,65 +297,75 @@ public class PaymentAPIImpl implements PaymentAPI {
      * @return 전송 성공 여부
      */
     private boolean sendPurchaseInfoToGameServer(Map<String, Object> purchaseData) {
+        // uid 기준으로 담당 샤드 선택
+        GameServerShard shard = gameServers.route((String) purchaseData.get("uid"));
+        if (!shard.isHealthy()) {
+            // 사용자 상태는 담당 샤드에만 있으므로 다른 샤드에 지급하지 않고 실패 처리
+            shard.record(false);
+            log.error("담당 게임 서버({})가 응답하지 않아 크레딧을 지급하지 않습니다: uid={}", shard.getUrl(), purchaseData.get("uid"));
+            return false;
+        }
         try {
-            // JSON 문자열로 변환
-            String jsonBody = convertToJson(purchaseData);
+            // 키를 정렬한 JSON으로 변환 (서명 대상 바디)
+            byte[] jsonBody = JsonCodec.toJson(new TreeMap<>(purchaseData)).getBytes(StandardCharsets.UTF_8);
             
-            // HTTP 요청 생성
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(gameServerUrl + "/purchase"))
+            // HTTP 요청 생성 (타임아웃은 샤드 응답 시간에 맞춰 조정)
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .uri(URI.create(shard.getUrl() + "/purchase"))
                     .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .timeout(Duration.ofSeconds(10))
-                    .build();
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(jsonBody));
+            purchaseSigner.sign(request, "/purchase", jsonBody);
             
-            // 요청 전송
-            HttpResponse<String> response = httpClient.send(
-                    request, HttpResponse.BodyHandlers.ofString());
+            // 요청 전송 (구매는 멱등이 아니므로 헤징하지 않음)
+            HttpResponse<String> response = shard.send(request, false);
             
             // 응답 처리
             boolean success = response.statusCode() >= 200 && response.statusCode() < 300;
+            shard.record(success);
             if (success) {
-                log.info("게임 서버에 구매 정보 전송 성공: {}", response.body());
+                log.info("게임 서버({})에 구매 정보 전송 성공: {}", shard.getUrl(), response.body());
             } else {
-                log.error("게임 서버에 구매 정보 전송 실패: 상태 코드={}, 응답={}", 
-                        response.statusCode(), response.body());
+                log.error("게임 서버({})에 구매 정보 전송 실패: 상태 코드={}, 응답={}", 
+                        shard.getUrl(), response.statusCode(), response.body());
             }
             
             return success;
         } catch (IOException | InterruptedException e) {
-            log.error("게임 서버에 구매 정보 전송 중 오류 발생: {}", e.getMessage(), e);
+            shard.record(false);
+            log.error("게임 서버({})에 구매 정보 전송 중 오류 발생: {}", shard.getUrl(), e.getMessage(), e);
             return false;
         }
     }
     
     /**
-     * Map을 JSON 문자열로 변환합니다.
-     * 
-     * @param map 변환할 Map
-     * @return JSON 문자열
+     * 게임 서버에서 사용자의 크레딧 잔액을 조회합니다.
+     *
+     * @param uid 사용자 ID
+     * @return 크레딧 잔액
+     * @throws IOException 게임 서버 응답이 실패이거나 잔액 정보가 없는 경우
      */
-    private String convertToJson(Map<String, Object> map) {
-        StringBuilder json = new StringBuilder("{");
-        boolean first = true;
-        
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) {
-                json.append(",");
-            }
-            first = false;
-            
-            json.append("\"").append(entry.getKey()).append("\":");
-            
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                json.append("\"").append(value).append("\"");
-            } else {
-                json.append(value);
-            }
+    private int loadCreditBalance(String uid) throws IOException, InterruptedException {
+        GameServerShard shard = gameServers.route(uid);
+        if (!shard.isHealthy()) {
+            throw new IOException("담당 게임 서버가 응답하지 않습니다: " + shard.getUrl());
         }
-        
-        json.append("}");
-        return json.toString();
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(shard.getUrl() + "/balance?uid=" + URLEncoder.encode(uid, StandardCharsets.UTF_8)))
+                .GET();
+
+        // 잔액 조회는 멱등이므로 느린 응답에 대해 헤징 요청 허용
+        HttpResponse<String> response = shard.send(request, true);
+        boolean success = response.statusCode() >= 200 && response.statusCode() < 300;
+        shard.record(success);
+        if (!success) {
+            throw new IOException("게임 서버 잔액 조회 실패: 상태 코드=" + response.statusCode());
+        }
+
+        JsonObject body = JsonParser.parseString(response.body()).getAsJsonObject();
+        if (!body.has("balance")) {
+            throw new IOException("게임 서버 응답에 잔액 정보가 없습니다: " + response.body());
+        }
+        return body.get("balance").getAsInt();
     }
+
 }
@@ -0,0 +1,202 @@
+package com.febrie.payment;
+
+import com.febrie.http.HttpException;
+import com.febrie.http.JsonCodec;
+import com.febrie.http.Request;
+import com.febrie.http.RouteHandler;
+import com.febrie.util.Logging;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 건의 결제 요청을 한 번에 처리하는 배치 핸들러
+ * <p>
+ * 요청 바디의 JSON 배열을 스트리밍으로 읽으면서 항목마다 병렬로 처리하고,
+ * 처리가 끝나는 순서대로 한 줄씩(NDJSON) 결과를 응답합니다.
+ */
+@Slf4j
+public class PaymentBatchHandler implements RouteHandler {
+
+    private static final int MAX_CONCURRENCY = 16;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final PaymentHandler paymentHandler;
+    private final ExecutorService executor;
+
+    /**
+     * @param paymentAPI 결제 API
+     * @param executor   항목 처리용 스레드 풀 (종료는 소유자가 담당)
+     */
+    public PaymentBatchHandler(PaymentAPI paymentAPI, ExecutorService executor) {
+        this.paymentHandler = new PaymentHandler(paymentAPI);
+        this.executor = executor;
+    }
+
+    /**
+     * 배치 결제 요청을 처리합니다. 응답은 직접 스트리밍하므로 null을 반환합니다.
+     */
+    @Override
+    public Map<String, Object> handle(@NotNull Request request) throws IOException, InterruptedException {
+        Logging.info(log, "배치 결제 처리 요청 수신");
+
+        HttpExchange exchange = request.getExchange();
+        JsonReader reader = new JsonReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+        try {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw HttpException.badRequest("요청 바디는 결제 요청 배열이어야 합니다.");
+            }
+            reader.beginArray();
+        } catch (IOException e) {
+            throw HttpException.badRequest("요청 형식이 올바르지 않습니다.");
+        }
+
+        // 청크 전송으로 결과를 완료되는 대로 내려보냄
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=UTF-8");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+
+        Semaphore permits = new Semaphore(MAX_CONCURRENCY);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int total = 0;
+        boolean truncated = false;
+        boolean interrupted = false;
+
+        try {
+            while (reader.hasNext()) {
+                if (total >= MAX_BATCH_SIZE) {
+                    // 남은 바디는 읽지 않고 중단 (초과분은 처리하지 않음)
+                    truncated = true;
+                    writeLine(out, itemError(-1, "배치 최대 크기(" + MAX_BATCH_SIZE + ")를 초과하여 이후 항목은 처리하지 않았습니다."));
+                    break;
+                }
+                int index = total++;
+                JsonElement element = JsonParser.parseReader(reader);
+
+                if (!element.isJsonObject()) {
+                    failed.incrementAndGet();
+                    writeLine(out, itemError(index, "결제 요청은 JSON 객체여야 합니다."));
+                    continue;
+                }
+
+                Map<String, Object> requestData = JsonCodec.toMap(element);
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            Map<String, Object> result = processItem(index, requestData);
+                            if (Boolean.TRUE.equals(result.get("success"))) {
+                                succeeded.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                            writeLine(out, result);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // 서버 종료 중
+                    permits.release();
+                    throw e;
+                }
+            }
+            if (!truncated) reader.endArray();
+        } catch (InterruptedException e) {
+            // 서버 종료 등으로 요청 스레드가 인터럽트됨: 남은 항목은 읽지 않고 중단
+            interrupted = true;
+            writeLine(out, itemError(-1, "요청 처리가 중단되어 나머지 항목을 처리하지 못했습니다."));
+        } catch (RejectedExecutionException e) {
+            writeLine(out, itemError(-1, "서버가 종료 중이어서 나머지 항목을 처리하지 못했습니다."));
+        } catch (Exception e) {
+            log.warn("배치 요청 파싱 중 오류 발생: {}", e.getMessage());
+            writeLine(out, itemError(-1, "요청 형식이 올바르지 않습니다: " + e.getMessage()));
+        }
+        if (!interrupted) {
+            // 처리 중인 항목이 모두 끝날 때까지 대기
+            try {
+                permits.acquire(MAX_CONCURRENCY);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("done", true);
+        summary.put("total", total);
+        summary.put("succeeded", succeeded.get());
+        summary.put("failed", failed.get());
+        if (truncated) summary.put("truncated", true);
+        if (interrupted) summary.put("interrupted", true);
+        writeLine(out, summary);
+
+        Logging.info(log, "배치 결제 처리 완료: total={}, succeeded={}, failed={}", total, succeeded.get(), failed.get());
+        if (interrupted) {
+            // 인터럽트 상태에서는 응답 채널이 마지막 청크 없이 닫히므로, 응답을 먼저 마무리한 뒤 인터럽트 상태를 복원
+            try {
+                synchronized (out) {
+                    out.close();
+                }
+            } finally {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 배치 항목 한 건을 처리합니다. 실패는 항목 단위 결과로 반환합니다.
+     */
+    private Map<String, Object> processItem(int index, Map<String, Object> requestData) {
+        try {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", index);
+            result.putAll(paymentHandler.process(requestData));
+            return result;
+        } catch (HttpException e) {
+            return itemError(index, e.getMessage());
+        } catch (Exception e) {
+            log.error("배치 항목 처리 중 오류 발생: index={}, {}", index, e.getMessage(), e);
+            return itemError(index, "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> itemError(int index, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        if (index >= 0) error.put("index", index);
+        error.put("success", false);
+        error.put("message", message);
+        return error;
+    }
+
+    /**
+     * 결과 한 줄을 전송합니다. 여러 작업 스레드가 같은 스트림에 쓰므로 동기화합니다.
+     */
+    private void writeLine(OutputStream out, Map<String, Object> data) {
+        byte[] line = (JsonCodec.toJson(data) + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (out) {
+            try {
+                out.write(line);
+                out.flush();
+            } catch (IOException e) {
+                log.debug("배치 결과 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
+            }
+        }
+    }
+}
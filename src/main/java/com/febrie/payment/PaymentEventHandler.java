@@ -0,0 +1,57 @@
+package com.febrie.payment;
+
+import com.febrie.http.HttpException;
+import com.febrie.http.Request;
+import com.febrie.http.RouteHandler;
+import com.febrie.payment.event.PaymentEventBus;
+import com.sun.net.httpserver.HttpExchange;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 주문별 결제 상태를 Server-Sent Events로 전달하는 핸들러
+ * <p>
+ * {@code GET /api/payment/{orderId}/events} 요청의 응답 스트림을 {@link PaymentEventBus}에 등록하고
+ * 교환을 닫지 않은 채 반환하므로, 대기 중인 연결이 요청 처리 스레드를 점유하지 않습니다.
+ */
+@Slf4j
+public class PaymentEventHandler implements RouteHandler {
+
+    private static final Pattern ORDER_ID = Pattern.compile("[A-Za-z0-9_=-]{1,64}");
+    private static final byte[] STREAM_OPENED = ": connected\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final PaymentEventBus eventBus;
+
+    public PaymentEventHandler(PaymentEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public Map<String, Object> handle(@NotNull Request request) throws IOException {
+        String orderId = request.pathParam("orderId");
+        if (orderId == null || !ORDER_ID.matcher(orderId).matches()) {
+            throw HttpException.notFound();
+        }
+
+        HttpExchange exchange = request.getExchange();
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        OutputStream out = exchange.getResponseBody();
+        out.write(STREAM_OPENED);
+        out.flush();
+
+        // 교환은 이벤트 버스가 최종 상태 전송 또는 연결 끊김 시 닫습니다
+        request.detach();
+        eventBus.subscribe(orderId, out);
+        log.debug("결제 이벤트 구독: orderId={}", orderId);
+        return null;
+    }
+}
@@ -1,24 +1,21 @@
 package com.febrie.payment;
 
+import com.febrie.http.HttpException;
+import com.febrie.http.Request;
+import com.febrie.http.RouteHandler;
 import com.febrie.util.Logging;
-import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Scanner;
 
 /**
  * 결제 처리 요청을 처리하는 핸들러
  */
 @Slf4j
-public class PaymentHandler implements HttpHandler {
+public class PaymentHandler implements RouteHandler {
 
     private final PaymentAPI paymentAPI;
 
@@ -26,180 +23,87 @@ public class PaymentHandler implements HttpHandler {
         this.paymentAPI = paymentAPI;
     }
 
-    @Override
-    public void handle(@NotNull HttpExchange exchange) throws IOException {
-        String method = exchange.getRequestMethod();
-
-        try {
-            if ("POST".equals(method)) {
-                    handlePaymentRequest(exchange);
-            } else {
-                handleInvalidMethodRequest(exchange);
-            }
-        } catch (Exception e) {
-            log.error("결제 처리 요청 중 오류 발생: {}", e.getMessage(), e);
-            sendErrorResponse(exchange, 500, "서버 오류: " + e.getMessage());
-        } finally {
-            exchange.close();
-        }
-    }
-
     /**
      * 결제 처리 요청을 처리합니다.
      */
-    private void handlePaymentRequest(HttpExchange exchange) throws IOException {
+    @Override
+    public Map<String, Object> handle(@NotNull Request request) throws IOException {
         Logging.info(log, "결제 처리 요청 수신");
+        return process(request.json());
+    }
 
-        // 요청 바디 읽기
-        String requestBody = readRequestBody(exchange);
-        Map<String, Object> requestData = parseJson(requestBody);
-
+    /**
+     * 결제 요청 한 건을 처리합니다.
+     *
+     * @param requestData 결제 요청 데이터
+     * @return 처리 결과
+     * @throws HttpException 필수 파라미터가 누락되었거나 형식이 올바르지 않은 경우 (400)
+     */
+    Map<String, Object> process(Map<String, Object> requestData) {
         // 필수 파라미터 확인
         if (!requestData.containsKey("uid") || !requestData.containsKey("amount") ||
                 !requestData.containsKey("creditAmount")) {
-            sendErrorResponse(exchange, 400, "필수 파라미터가 누락되었습니다. (uid, amount, creditAmount)");
-            return;
+            throw HttpException.badRequest("필수 파라미터가 누락되었습니다. (uid, amount, creditAmount)");
         }
 
         // 파라미터 추출
         String userId = requestData.get("uid").toString();
-        double amount = Double.parseDouble(requestData.get("amount").toString());
-        String productId = requestData.getOrDefault("productId", "credit").toString();
-
+        double amount;
         try {
-            // 자동 결제 처리 (300원 미만)
-            if (amount < 300) {
-                Logging.info(log, "소액 결제 자동 처리: userId={}, amount={}", userId, amount);
-                Map<String, Object> result = paymentAPI.handleSuccessPayment(requestData);
-                sendJsonResponse(exchange, 200, result);
-                return;
-            }
-
-            // 일반 결제 처리
-            String paymentId = paymentAPI.processPayment(userId, amount, productId);
-
-            // 응답 생성
-            Map<String, Object> responseData = new HashMap<>();
-            responseData.put("success", true);
-            responseData.put("paymentId", paymentId);
-            responseData.put("message", "결제가 성공적으로 처리되었습니다.");
-
-            Logging.info(log, "결제 처리 성공: userId={}, amount={}, paymentId={}", userId, amount, paymentId);
-
-            // 응답 전송
-            sendJsonResponse(exchange, 200, responseData);
-        } catch (Exception e) {
-            log.error("결제 처리 중 오류 발생: {}", e.getMessage(), e);
-            sendErrorResponse(exchange, 500, "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+            amount = Double.parseDouble(requestData.get("amount").toString());
+        } catch (NumberFormatException e) {
+            throw HttpException.badRequest("결제 금액 형식이 올바르지 않습니다.");
         }
-    }
-
-    /**
-     * 지원하지 않는 HTTP 메소드 요청을 처리합니다.
-     */
-    private void handleInvalidMethodRequest(HttpExchange exchange) throws IOException {
-        sendErrorResponse(exchange, 405, "지원하지 않는 HTTP 메소드입니다.");
-    }
-
-    /**
-     * 요청 바디를 문자열로 읽습니다.
-     */
-    private String readRequestBody(HttpExchange exchange) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody();
-             Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8)) {
-            scanner.useDelimiter("\\A");
-            return scanner.hasNext() ? scanner.next() : "";
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            throw HttpException.badRequest("결제 금액은 0보다 커야 합니다.");
         }
-    }
-
-    /**
-     * JSON 문자열을 Map으로 파싱합니다.
-     */
-    private Map<String, Object> parseJson(String jsonString) {
-        Map<String, Object> result = new HashMap<>();
-
-        if (jsonString == null || jsonString.isEmpty()) {
-            return result;
+        try {
+            Integer.parseInt(requestData.get("creditAmount").toString());
+        } catch (NumberFormatException e) {
+            throw HttpException.badRequest("크레딧 수량 형식이 올바르지 않습니다.");
         }
+        String productId = requestData.getOrDefault("productId", "credit").toString();
+        String paymentKey = requestData.containsKey("paymentKey") ? requestData.get("paymentKey").toString() : null;
+        String orderId = requestData.containsKey("orderId") ? requestData.get("orderId").toString() : null;
 
-        // 간단한 JSON 파싱 (실제 구현에서는 Jackson이나 Gson 등의 라이브러리 사용 권장)
-        jsonString = jsonString.trim();
-        if (jsonString.startsWith("{") && jsonString.endsWith("}")) {
-            jsonString = jsonString.substring(1, jsonString.length() - 1);
-
-            for (String pair : jsonString.split(",")) {
-                String[] keyValue = pair.split(":", 2);
-                if (keyValue.length == 2) {
-                    String key = keyValue[0].trim().replace("\"", "");
-                    String value = keyValue[1].trim().replace("\"", "");
-
-                    // 숫자 변환 시도
-                    try {
-                        if (value.contains(".")) {
-                            result.put(key, Double.parseDouble(value));
-                        } else {
-                            result.put(key, Integer.parseInt(value));
-                        }
-                    } catch (NumberFormatException e) {
-                        // 숫자가 아니면 문자열로 저장
-                        result.put(key, value);
-                    }
-                }
+        // 결제 검증 (사용자별 결제 빈도/금액 규칙 포함). 주문 ID가 있으면 결제 이벤트 구독자에게도 실패를 알림
+        if (!paymentAPI.verifyPayment(userId, paymentKey, amount)) {
+            if (orderId != null) {
+                return paymentAPI.rejectPayment(orderId, "결제 검증에 실패했습니다. 잠시 후 다시 시도해주세요.");
             }
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("success", false);
+            responseData.put("message", "결제 검증에 실패했습니다. 잠시 후 다시 시도해주세요.");
+            return responseData;
         }
 
-        return result;
-    }
+        // 결제창을 거친 주문은 결제사 승인과 크레딧 지급을 백그라운드에서 처리 (진행 상태는 결제 이벤트로 전달)
+        if (paymentKey != null && orderId != null) {
+            paymentAPI.submitSuccessPayment(requestData);
 
-    /**
-     * JSON 응답을 전송합니다.
-     */
-    private void sendJsonResponse(HttpExchange exchange, int statusCode, Map<String, Object> data) throws IOException {
-        String jsonResponse = convertToJson(data);
-
-        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
-        exchange.sendResponseHeaders(statusCode, jsonResponse.getBytes(StandardCharsets.UTF_8).length);
-
-        try (OutputStream outputStream = exchange.getResponseBody()) {
-            outputStream.write(jsonResponse.getBytes(StandardCharsets.UTF_8));
+            Map<String, Object> responseData = new HashMap<>();
+            responseData.put("success", true);
+            responseData.put("orderId", orderId);
+            responseData.put("status", "accepted");
+            responseData.put("message", "결제 승인을 요청했습니다. 승인 및 크레딧 지급 결과는 이벤트로 전달됩니다.");
+            return responseData;
         }
-    }
-
-    /**
-     * 에러 응답을 전송합니다.
-     */
-    private void sendErrorResponse(HttpExchange exchange, int statusCode, String message) throws IOException {
-        Map<String, Object> errorData = new HashMap<>();
-        errorData.put("success", false);
-        errorData.put("message", message);
-
-        sendJsonResponse(exchange, statusCode, errorData);
-    }
 
-    /**
-     * Map을 JSON 문자열로 변환합니다.
-     */
-    private String convertToJson(Map<String, Object> map) {
-        StringBuilder json = new StringBuilder("{");
-        boolean first = true;
-
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (!first) {
-                json.append(",");
-            }
-            first = false;
+        // 결제창을 거쳤지만 결제사 승인 정보가 없는 주문은 지급하지 않고 실패 이벤트를 발행
+        if (orderId != null) {
+            return paymentAPI.rejectPayment(orderId, "결제 승인 정보가 없어 크레딧을 지급하지 않습니다.");
+        }
 
-            json.append("\"").append(entry.getKey()).append("\":");
+        // 일반 결제 처리 (결제사 승인 정보가 없으므로 금액과 관계없이 크레딧은 지급하지 않음)
+        String paymentId = paymentAPI.processPayment(userId, amount, productId);
 
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                json.append("\"").append(value).append("\"");
-            } else {
-                json.append(value);
-            }
-        }
+        // 응답 생성
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", true);
+        responseData.put("paymentId", paymentId);
+        responseData.put("message", "결제가 성공적으로 처리되었습니다.");
 
-        json.append("}");
-        return json.toString();
+        Logging.info(log, "결제 처리 성공: userId={}, amount={}, paymentId={}", userId, amount, paymentId);
+        return responseData;
     }
 }
@@ -0,0 +1,32 @@
+package com.febrie.payment;
+
+import com.febrie.http.Router;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 결제 서버의 라우트 구성
+ */
+public class PaymentRoutes {
+
+    /**
+     * 결제 API 라우트를 등록한 라우터를 생성합니다.
+     *
+     * @param paymentAPI    결제 API 구현체
+     * @param batchExecutor 배치 결제 항목 처리용 스레드 풀 (종료는 호출 측이 담당)
+     * @return 라우터
+     */
+    public static @NotNull Router create(@NotNull PaymentAPIImpl paymentAPI, @NotNull ExecutorService batchExecutor) {
+        PaymentHandler paymentHandler = new PaymentHandler(paymentAPI);
+        CreditHandler creditHandler = new CreditHandler(paymentAPI.getCreditBalanceCache());
+
+        return new Router()
+                .post("/api/payment/verify", new PaymentController(paymentAPI))
+                .post("/api/payment/process", paymentHandler)
+                .post("/api/payment/process/batch", new PaymentBatchHandler(paymentAPI, batchExecutor))
+                .get("/api/payment/{orderId}/events", new PaymentEventHandler(paymentAPI.getEventBus()))
+                .get("/api/credits/stats", creditHandler::stats)
+                .get("/api/credits/{uid}", creditHandler);
+    }
+}
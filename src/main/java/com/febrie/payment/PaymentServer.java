@@ -1,5 +1,7 @@
 package com.febrie.payment;
 
+import com.febrie.http.HttpServers;
+import com.febrie.http.capture.TrafficCaptureFilter;
 import com.febrie.util.Logging;
 import com.sun.net.httpserver.HttpServer;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +9,11 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class PaymentServer {
@@ -15,21 +21,38 @@ public class PaymentServer {
     private static final String GAME_SERVER_URL = "http://localhost:7998"; // 게임 서버 URL 설정
 
     private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(10);
+    private final ExecutorService batchExecutor = Executors.newFixedThreadPool(16); // 배치 결제 항목 처리용
+    private final PaymentAPIImpl paymentAPI;
 
     public PaymentServer(int port) throws IOException {
-        server = HttpServer.create(new InetSocketAddress(port), 0);
-        server.setExecutor(Executors.newFixedThreadPool(10));
+        this(port, List.of(GAME_SERVER_URL));
+    }
 
-        try {
-            // API 구현체 초기화 (게임 서버 URL은 내부에서 설정)
-            PaymentAPI paymentAPI = new PaymentAPIImpl();
+    public PaymentServer(int port, List<String> gameServerUrls) throws IOException {
+        this(port, createPaymentAPI(gameServerUrls));
+    }
 
-            // 핸들러 등록
-            server.createContext("/api/payment/verify", new PaymentController(paymentAPI));
-            server.createContext("/api/payment/process", new PaymentHandler(paymentAPI));
+    public PaymentServer(int port, @NotNull PaymentAPIImpl paymentAPI) throws IOException {
+        server = HttpServers.create(new InetSocketAddress(port));
+        server.setExecutor(executor);
+        this.paymentAPI = paymentAPI;
+
+        try {
+            // 라우트 등록 (eroom.capture.file 시스템 속성이 있으면 트래픽 캡처)
+            TrafficCaptureFilter.installIfEnabled(server.createContext("/", PaymentRoutes.create(paymentAPI, batchExecutor)));
 
             Logging.info(log, "결제 서버 초기화 완료. 포트: {}", port);
-            Logging.info(log, "게임 서버 URL: {}", GAME_SERVER_URL);
+        } catch (Exception e) {
+            log.error("❌ 서버 초기화 중 오류 발생: {}", e.getMessage(), e);
+            throw new IOException("결제 서버 초기화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private static @NotNull PaymentAPIImpl createPaymentAPI(List<String> gameServerUrls) throws IOException {
+        try {
+            // API 구현체 초기화 (uid 기준으로 게임 서버 샤드에 분산)
+            return new PaymentAPIImpl(gameServerUrls);
         } catch (Exception e) {
             log.error("❌ 서버 초기화 중 오류 발생: {}", e.getMessage(), e);
             throw new IOException("결제 서버 초기화 실패: " + e.getMessage(), e);
@@ -40,10 +63,25 @@ public class PaymentServer {
         server.start();
         log.info("결제 서버 시작됨");
         log.info("결제 처리 엔드포인트: http://localhost:{}/api/payment/process", server.getAddress().getPort());
+        log.info("배치 결제 처리 엔드포인트: http://localhost:{}/api/payment/process/batch", server.getAddress().getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
     }
 
     public void stop() {
         server.stop(0);
+        executor.shutdown();
+        // 배치 항목은 지급 작업을 제출하므로 결제 API보다 먼저 종료
+        batchExecutor.shutdown();
+        try {
+            batchExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batchExecutor.shutdownNow();
+        paymentAPI.shutdown();
         log.info("결제 서버 종료됨");
     }
 
@@ -51,6 +89,8 @@ public class PaymentServer {
         try {
             // 포트 설정 (기본값: 8000)
             int port = 8000;
+            // 게임 서버 샤드 설정 (쉼표로 구분, 기본값: GAME_SERVER_URL)
+            List<String> gameServerUrls = List.of(GAME_SERVER_URL);
 
             if (args.length > 0) {
                 try {
@@ -59,9 +99,15 @@ public class PaymentServer {
                     log.warn("올바르지 않은 포트 번호: {}. 기본 포트(8000)를 사용합니다.", args[0]);
                 }
             }
+            if (args.length > 1) {
+                gameServerUrls = Arrays.stream(args[1].split(","))
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .toList();
+            }
 
             log.info("결제 서버를 포트 {}에서 시작합니다...", port);
-            PaymentServer server = new PaymentServer(port);
+            PaymentServer server = new PaymentServer(port, gameServerUrls);
             server.start();
 
             // 종료 훅 등록
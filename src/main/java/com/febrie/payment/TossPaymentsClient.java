@@ -0,0 +1,163 @@
+package com.febrie.payment;
+
+import com.febrie.Main;
+import com.febrie.http.JsonCodec;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 토스페이먼츠 결제 승인 API 클라이언트
+ * <p>
+ * 결제창에서 돌아온 paymentKey를 서버에서 승인해야 실제로 금액이 결제됩니다.
+ * 승인 응답의 주문 ID와 금액이 요청과 일치하고 상태가 {@code DONE}일 때만 성공으로 봅니다.
+ * 시크릿 키는 설정의 {@code secret-key}, API 주소는 {@code toss.api-url}(기본값 토스페이먼츠 운영 주소)을 사용합니다.
+ */
+@Slf4j
+public class TossPaymentsClient {
+
+    private static final String DEFAULT_API_URL = "https://api.tosspayments.com";
+    private static final String CONFIRM_PATH = "/v1/payments/confirm";
+    // 토스페이먼츠 권장 승인 API 타임아웃
+    private static final Duration CONFIRM_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * 승인 결과
+     *
+     * @param success     승인 성공 여부
+     * @param totalAmount 승인된 결제 금액 (실패 시 0)
+     * @param message     실패 사유 또는 안내 메시지
+     */
+    public record Confirmation(boolean success, long totalAmount, String message) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String apiUrl;
+    private final String authorization;
+
+    /**
+     * @param apiUrl    API 주소 (예: {@code https://api.tosspayments.com})
+     * @param secretKey 시크릿 키
+     */
+    public TossPaymentsClient(@NotNull String apiUrl, @Nullable String secretKey) {
+        this.apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        // 시크릿 키를 사용자 ID로, 비밀번호는 비워서 Basic 인증
+        this.authorization = secretKey == null ? null
+                : "Basic " + Base64.getEncoder().encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 설정 파일의 시크릿 키와 API 주소로 클라이언트를 만듭니다.
+     */
+    public static @NotNull TossPaymentsClient fromConfig() {
+        Main.loadConfig();
+        String secretKey = Main.getSetting("secret-key", null);
+        if (secretKey == null || secretKey.isBlank()) {
+            log.error("토스페이먼츠 시크릿 키(secret-key)가 설정되지 않아 결제 승인이 모두 실패합니다");
+            secretKey = null;
+        }
+        return new TossPaymentsClient(Main.getSetting("toss.api-url", DEFAULT_API_URL), secretKey);
+    }
+
+    /**
+     * 결제를 승인합니다. 같은 주문은 주문 ID를 멱등 키로 사용하므로 중복 승인되지 않습니다.
+     *
+     * @param paymentKey 결제 키
+     * @param orderId    주문 ID
+     * @param amount     결제 금액
+     * @return 승인 결과
+     */
+    public @NotNull Confirmation confirm(@NotNull String paymentKey, @NotNull String orderId, long amount) {
+        if (authorization == null) {
+            return new Confirmation(false, 0, "결제 승인 설정이 되어 있지 않습니다.");
+        }
+
+        Map<String, Object> body = new TreeMap<>();
+        body.put("paymentKey", paymentKey);
+        body.put("orderId", orderId);
+        body.put("amount", amount);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(apiUrl + CONFIRM_PATH))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", orderId)
+                .timeout(CONFIRM_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofString(JsonCodec.toJson(body)))
+                .build();
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // 승인 여부를 알 수 없으므로 수동 확인이 필요
+            log.error("결제 승인 요청 실패 (승인 여부 확인 필요): orderId={}, paymentKey={}, {}", orderId, paymentKey, e.getMessage());
+            return new Confirmation(false, 0, "결제 승인 결과를 확인하지 못했습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Confirmation(false, 0, "결제 승인이 중단되었습니다.");
+        }
+
+        JsonObject json = parseObject(response.body());
+        if (response.statusCode() != 200) {
+            String message = json != null && json.has("message") ? json.get("message").getAsString() : "결제 승인에 실패했습니다.";
+            log.warn("결제 승인 거절: orderId={}, status={}, body={}", orderId, response.statusCode(), response.body());
+            return new Confirmation(false, 0, message);
+        }
+
+        if (json == null || !"DONE".equals(stringOf(json, "status"))
+                || !orderId.equals(stringOf(json, "orderId"))
+                || longOf(json, "totalAmount") != amount) {
+            log.error("결제 승인 응답이 요청과 일치하지 않습니다: orderId={}, amount={}, body={}", orderId, amount, response.body());
+            return new Confirmation(false, 0, "결제 승인 응답이 올바르지 않습니다.");
+        }
+        return new Confirmation(true, amount, "결제가 승인되었습니다.");
+    }
+
+    private static @Nullable JsonObject parseObject(String body) {
+        try {
+            JsonElement element = JsonParser.parseString(body);
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 클라이언트를 종료합니다.
+     */
+    public void close() {
+        httpClient.shutdown();
+    }
+
+    private static long longOf(JsonObject json, String key) {
+        try {
+            JsonElement value = json.get(key);
+            return value == null || value.isJsonNull() ? -1 : value.getAsLong();
+        } catch (NumberFormatException | UnsupportedOperationException | IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    private static @Nullable String stringOf(JsonObject json, String key) {
+        JsonElement value = json.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
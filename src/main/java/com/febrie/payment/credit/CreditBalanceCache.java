@@ -0,0 +1,152 @@
+package com.febrie.payment.credit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자 크레딧 잔액 read-through 캐시
+ * <p>
+ * 크기(LRU)와 TTL로 항목을 만료시키며, 같은 uid에 대한 동시 미스는 게임 서버 호출 한 번으로 합칩니다.
+ * 크레딧이 지급되면 {@link #invalidate(String)}로 해당 항목을 무효화합니다.
+ */
+@Slf4j
+public class CreditBalanceCache {
+
+    /**
+     * 게임 서버에서 잔액을 읽어오는 함수
+     */
+    @FunctionalInterface
+    public interface BalanceLoader {
+        int load(String uid) throws Exception;
+    }
+
+    private final BalanceLoader loader;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, CachedBalance> entries;
+    private final Map<String, CompletableFuture<Integer>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    public CreditBalanceCache(@NotNull BalanceLoader loader, int maxSize, long ttlMillis) {
+        this(loader, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock TTL 판정에 쓸 현재 시각 (epoch 밀리초)
+     */
+    public CreditBalanceCache(@NotNull BalanceLoader loader, int maxSize, long ttlMillis, @NotNull LongSupplier clock) {
+        this.loader = loader;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBalance> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 사용자의 크레딧 잔액을 조회합니다. 캐시에 없으면 게임 서버에서 읽어옵니다.
+     *
+     * @param uid 사용자 ID
+     * @return 크레딧 잔액
+     * @throws Exception 게임 서버 조회에 실패한 경우
+     */
+    public int get(@NotNull String uid) throws Exception {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            CachedBalance cached = entries.get(uid);
+            if (cached != null && cached.expiresAt > now) {
+                hits.increment();
+                return cached.balance;
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = inFlight.putIfAbsent(uid, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            upstreamCalls.increment();
+            int balance = loader.load(uid);
+            // 조회 중 무효화되었다면 오래된 값일 수 있으므로 저장하지 않음.
+            // invalidate와 같은 잠금 안에서 확인과 저장을 함께 해야 그 사이에 끼어든 무효화를 놓치지 않음
+            synchronized (entries) {
+                if (inFlight.remove(uid, future)) {
+                    entries.put(uid, new CachedBalance(balance, clock.getAsLong() + ttlMillis));
+                }
+            }
+            future.complete(balance);
+            return balance;
+        } catch (Exception e) {
+            inFlight.remove(uid, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 사용자의 캐시 항목을 무효화합니다.
+     *
+     * @param uid 사용자 ID
+     */
+    public void invalidate(String uid) {
+        if (uid == null) return;
+        synchronized (entries) {
+            inFlight.remove(uid);
+            entries.remove(uid);
+        }
+    }
+
+    /**
+     * 캐시 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests == 0 ? 0.0 : (double) hitCount / requests);
+        stats.put("coalesced", coalesced.sum());
+        stats.put("upstreamCalls", upstreamCalls.sum());
+        stats.put("upstreamCallsSaved", requests - upstreamCalls.sum());
+        return stats;
+    }
+
+    private static int await(CompletableFuture<Integer> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    private record CachedBalance(int balance, long expiresAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.febrie.payment.credit;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * 판매 중인 크레딧 상품 (결제 금액 → 지급 크레딧)
+ * <p>
+ * 지급할 크레딧은 클라이언트가 보낸 값이 아니라 결제사가 승인한 금액으로 이 표에서 정합니다.
+ * 상점 페이지(credit-shop.html)의 상품 목록과 같아야 합니다.
+ */
+public final class CreditCatalog {
+
+    private static final Map<Long, Integer> CREDITS_BY_PRICE = Map.of(
+            1_000L, 100,
+            2_700L, 300,
+            4_000L, 500,
+            7_500L, 1_000,
+            14_000L, 2_000,
+            30_000L, 5_000);
+
+    private CreditCatalog() {
+    }
+
+    /**
+     * 결제 금액에 해당하는 상품의 크레딧 수량을 반환합니다.
+     *
+     * @param price 결제 금액 (원)
+     * @return 크레딧 수량, 해당 금액의 상품이 없으면 null
+     */
+    public static @Nullable Integer creditsFor(long price) {
+        return CREDITS_BY_PRICE.get(price);
+    }
+}
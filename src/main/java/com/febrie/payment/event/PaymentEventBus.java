@@ -0,0 +1,321 @@
+package com.febrie.payment.event;
+
+import com.febrie.http.JsonCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문별 결제 상태 변경을 SSE 구독자에게 전달하는 이벤트 버스
+ * <p>
+ * 구독자는 열린 응답 스트림과 작은 전송 대기열만 보관하며 스레드를 점유하지 않습니다.
+ * 발행 스레드와 keep-alive 스케줄러는 대기열에 프레임을 넣기만 하고, 실제 쓰기는 소수의 전송 스레드가 맡습니다.
+ * 대기열이 가득 찼거나 쓰기가 {@value #WRITE_TIMEOUT_MILLIS}ms 안에 끝나지 않는 구독자는 연결을 끊습니다.
+ */
+@Slf4j
+public class PaymentEventBus {
+
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 15;
+    private static final long STATUS_RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long WRITE_TIMEOUT_MILLIS = 5_000;
+    private static final long WRITE_CHECK_INTERVAL_MILLIS = 500;
+    private static final int MAX_PENDING_FRAMES = 16;
+    private static final int WRITER_THREADS = 4;
+    private static final byte[] HEARTBEAT = ": keep-alive\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, LastEvent> lastEvents = new ConcurrentHashMap<>();
+    // 지금 쓰는 중인 구독자 (쓰기 시간 초과 검사 대상)
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService heartbeat;
+    private final ExecutorService writers;
+
+    public PaymentEventBus() {
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "payment-event-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writers = Executors.newFixedThreadPool(WRITER_THREADS, r -> {
+            Thread thread = new Thread(r, "payment-event-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sweep,
+                HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        heartbeat.scheduleWithFixedDelay(this::abortStalledWrites,
+                WRITE_CHECK_INTERVAL_MILLIS, WRITE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 주문의 상태 변경을 발행합니다. 최종 상태이면 전송 후 구독 연결을 닫습니다.
+     * 전송은 비동기로 이루어지므로 느린 구독자가 호출 스레드를 막지 않습니다.
+     *
+     * @param orderId 주문 ID
+     * @param status  변경된 상태
+     * @param message 상태 메시지
+     */
+    public void publish(String orderId, @NotNull PaymentStatus status, String message) {
+        if (orderId == null) return;
+
+        byte[] frame = frame(orderId, status, message);
+        lastEvents.put(orderId, new LastEvent(status, frame, System.currentTimeMillis()));
+
+        if (status.isTerminal()) {
+            List<Subscriber> list = subscribers.remove(orderId);
+            if (list == null) return;
+            for (Subscriber subscriber : list) {
+                subscriber.enqueue(frame, true);
+            }
+        } else {
+            List<Subscriber> list = subscribers.get(orderId);
+            if (list == null) return;
+            for (Subscriber subscriber : list) {
+                if (!subscriber.enqueue(frame, false)) unsubscribe(subscriber);
+            }
+        }
+    }
+
+    /**
+     * 주문 상태를 구독합니다. 이미 발행된 상태가 있으면 즉시 전달합니다.
+     *
+     * @param orderId 주문 ID
+     * @param out     SSE 응답 스트림 (헤더 전송 완료 상태)
+     */
+    public void subscribe(@NotNull String orderId, @NotNull OutputStream out) {
+        Subscriber subscriber = new Subscriber(orderId, out);
+        subscribers.computeIfAbsent(orderId, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+
+        LastEvent last = lastEvents.get(orderId);
+        if (last != null) {
+            boolean terminal = last.status.isTerminal();
+            if (terminal) removeSubscriber(subscriber);
+            if (!subscriber.enqueue(last.frame, terminal)) unsubscribe(subscriber);
+        }
+    }
+
+    /**
+     * 현재 연결된 구독자 수
+     */
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(Subscriber::close));
+        subscribers.clear();
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(1, TimeUnit.SECONDS)) {
+                // 막혀 있는 쓰기를 인터럽트하면 해당 연결이 닫힘
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        removeSubscriber(subscriber);
+        subscriber.close();
+    }
+
+    private void removeSubscriber(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.orderId, (k, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * keep-alive 전송, 응답하지 않는 연결 정리, 오래된 상태 정리를 수행합니다.
+     */
+    private void sweep() {
+        subscribers.forEach((orderId, list) -> {
+            for (Subscriber subscriber : list) {
+                if (!subscriber.enqueue(HEARTBEAT, false)) unsubscribe(subscriber);
+            }
+        });
+
+        long expireBefore = System.currentTimeMillis() - STATUS_RETENTION_MILLIS;
+        lastEvents.values().removeIf(event -> event.publishedAt < expireBefore);
+    }
+
+    /**
+     * 쓰기 시간 제한을 넘긴 전송 스레드를 인터럽트합니다.
+     * 응답 스트림의 소켓 채널은 인터럽트되면 닫히므로, 막힌 쓰기가 예외로 끝나고 해당 구독자만 정리됩니다.
+     */
+    private void abortStalledWrites() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(WRITE_TIMEOUT_MILLIS);
+        for (Subscriber subscriber : writing) {
+            subscriber.abortIfStartedBefore(deadline);
+        }
+    }
+
+    /**
+     * SSE 프레임을 만듭니다. 데이터는 JSON 인코더로 이스케이프하므로 메시지의 따옴표, 역슬래시, 줄바꿈도 한 줄의 올바른 JSON이 됩니다.
+     */
+    private static byte[] frame(String orderId, PaymentStatus status, String message) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("orderId", orderId);
+        event.put("status", status.eventName());
+        event.put("message", message == null ? "" : message);
+        String data = JsonCodec.toJson(event);
+        return ("event: " + status.eventName() + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record LastEvent(PaymentStatus status, byte[] frame, long publishedAt) {
+    }
+
+    /**
+     * SSE 연결 하나
+     * <p>
+     * 대기열과 상태는 이 객체로 동기화하고, 스트림 쓰기는 잠금 밖에서 한 번에 하나의 전송 작업만 수행합니다.
+     */
+    private final class Subscriber {
+        private final String orderId;
+        private final OutputStream out;
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>(4);
+        // 전송 작업이 예약되었거나 실행 중
+        private boolean draining;
+        // 더 이상 프레임을 받지 않고, 대기열을 비운 뒤 스트림을 닫음
+        private boolean closing;
+        // 스트림이 닫혔거나 끊김
+        private boolean closed;
+        private Thread writer;
+        private long writeStartedAt;
+
+        private Subscriber(String orderId, OutputStream out) {
+            this.orderId = orderId;
+            this.out = out;
+        }
+
+        /**
+         * 프레임을 대기열에 넣습니다. 이미 닫는 중이거나 대기열이 가득 찬 경우 false를 반환합니다.
+         *
+         * @param closeAfter 이 프레임을 보낸 뒤 연결을 닫을지 여부
+         */
+        boolean enqueue(byte[] frame, boolean closeAfter) {
+            synchronized (this) {
+                if (closing || closed) return false;
+                if (pending.size() >= MAX_PENDING_FRAMES) {
+                    log.debug("SSE 전송 대기열 초과로 연결을 끊습니다: orderId={}", orderId);
+                    return false;
+                }
+                pending.add(frame);
+                closing = closeAfter;
+                if (draining) return true;
+                draining = true;
+            }
+            return schedule();
+        }
+
+        /**
+         * 보내지 않은 프레임을 버리고 스트림을 닫습니다. 닫기도 종료 청크를 쓰므로 전송 스레드에서 수행합니다.
+         */
+        void close() {
+            synchronized (this) {
+                if (closed) return;
+                pending.clear();
+                closing = true;
+                if (draining) return;
+                draining = true;
+            }
+            schedule();
+        }
+
+        private boolean schedule() {
+            try {
+                writers.execute(this::drain);
+                return true;
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                synchronized (this) {
+                    draining = false;
+                    closed = true;
+                }
+                return false;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                byte[] frame;
+                synchronized (this) {
+                    if (closed) {
+                        draining = false;
+                        return;
+                    }
+                    frame = pending.poll();
+                    if (frame == null) {
+                        if (!closing) {
+                            draining = false;
+                            return;
+                        }
+                        closed = true;
+                    }
+                    writer = Thread.currentThread();
+                    writeStartedAt = System.nanoTime();
+                }
+
+                writing.add(this);
+                boolean written = frame == null ? closeStream() : write(frame);
+                writing.remove(this);
+
+                synchronized (this) {
+                    writer = null;
+                    // 쓰기를 마친 직후 시간 초과로 인터럽트된 경우도 실패로 처리
+                    if (Thread.interrupted()) written = false;
+                    if (!written && !closed) {
+                        pending.clear();
+                        closing = true;
+                    }
+                }
+                if (!written) removeSubscriber(this);
+            }
+        }
+
+        private boolean write(byte[] frame) {
+            try {
+                out.write(frame);
+                out.flush();
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private boolean closeStream() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.debug("SSE 연결 종료 중 오류: {}", e.getMessage());
+            }
+            return true;
+        }
+
+        synchronized void abortIfStartedBefore(long deadline) {
+            if (writer != null && writeStartedAt - deadline < 0) {
+                log.debug("SSE 쓰기 시간 초과로 연결을 끊습니다: orderId={}", orderId);
+                writer.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.febrie.payment.event;
+
+/**
+ * 결제 진행 상태
+ */
+public enum PaymentStatus {
+    CONFIRMED(false),
+    GRANTED(true),
+    FAILED(true);
+
+    private final boolean terminal;
+
+    PaymentStatus(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * 더 이상 상태가 바뀌지 않는 최종 상태인지 여부
+     */
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    /**
+     * SSE 이벤트 이름 (소문자)
+     */
+    public String eventName() {
+        return name().toLowerCase();
+    }
+}
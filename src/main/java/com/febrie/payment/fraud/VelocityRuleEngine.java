@@ -0,0 +1,378 @@
+package com.febrie.payment.fraud;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용자별/전체 결제 빈도와 금액을 슬라이딩 윈도우로 제한하는 규칙 엔진
+ * <p>
+ * 사용자 상태는 해시된 uid를 키로 하는 개방 주소법 테이블에 기본형 배열로만 저장되므로,
+ * 메모리 사용량은 생성 시 정한 용량으로 고정되고 이벤트마다 객체를 할당하지 않습니다.
+ * 테이블은 세그먼트 단위로 잠기며, 탐색 범위 안에 빈 슬롯이 없으면 가장 오래 사용되지 않은 슬롯을 재사용합니다.
+ * 검증 단계와 결제사 승인 전에는 {@link #evaluate}로 판정만 하고, 지급을 마친 결제는 {@link #recordGranted}로 기록합니다.
+ * 판정과 기록을 한 번에 해야 하는 경우에는 {@link #record}를 사용합니다.
+ * 시각을 받는 오버로드는 요청을 받은 시각으로 판정해야 하는 비동기 지급이나, 캡처 시각으로 판정하는 트래픽 재생에서 사용합니다.
+ * <ul>
+ *     <li>분 단위 윈도우: 5초 구간 12개</li>
+ *     <li>시간 단위 윈도우: 5분 구간 12개</li>
+ *     <li>전체 윈도우: 5초 구간 12개 (잠금 없이 원자적 갱신)</li>
+ * </ul>
+ */
+public class VelocityRuleEngine {
+
+    /**
+     * 규칙 판정 결과
+     */
+    public enum Verdict {
+        ALLOW,
+        UID_COUNT_PER_MINUTE,
+        UID_AMOUNT_PER_MINUTE,
+        UID_COUNT_PER_HOUR,
+        UID_AMOUNT_PER_HOUR,
+        GLOBAL_RATE,
+        INVALID_AMOUNT;
+
+        public boolean isAllowed() {
+            return this == ALLOW;
+        }
+    }
+
+    /**
+     * 규칙별 한도
+     *
+     * @param maxCountPerMinute  사용자별 분당 최대 결제 건수
+     * @param maxAmountPerMinute 사용자별 분당 최대 결제 금액
+     * @param maxCountPerHour    사용자별 시간당 최대 결제 건수
+     * @param maxAmountPerHour   사용자별 시간당 최대 결제 금액
+     * @param maxGlobalPerMinute 전체 분당 최대 결제 건수 (이상 급증 감지)
+     */
+    public record Limits(int maxCountPerMinute, long maxAmountPerMinute,
+                         int maxCountPerHour, long maxAmountPerHour,
+                         int maxGlobalPerMinute) {
+        public static final Limits DEFAULT = new Limits(5, 500_000, 30, 3_000_000, 6_000);
+    }
+
+    private static final int SEGMENTS = 64;
+    private static final int MAX_PROBE = 8;
+
+    private static final int MINUTE_BUCKETS = 12;
+    private static final long MINUTE_BUCKET_MILLIS = 5_000;
+    private static final int HOUR_BUCKETS = 12;
+    private static final long HOUR_BUCKET_MILLIS = 300_000;
+
+    private final Limits limits;
+    private final int slotsPerSegment;
+    private final Object[] locks = new Object[SEGMENTS];
+
+    private final long[] keys;
+    private final long[] lastSeen;
+    private final long[] minuteHeads;
+    private final long[] hourHeads;
+    private final int[] minuteCounts;
+    private final long[] minuteAmounts;
+    private final int[] hourCounts;
+    private final long[] hourAmounts;
+
+    private final AtomicLongArray globalCounts = new AtomicLongArray(MINUTE_BUCKETS);
+    private final AtomicLongArray globalEpochs = new AtomicLongArray(MINUTE_BUCKETS);
+
+    public VelocityRuleEngine() {
+        this(Limits.DEFAULT, 16_384);
+    }
+
+    /**
+     * @param limits   규칙별 한도
+     * @param capacity 추적할 최대 사용자 수 (2의 거듭제곱으로 올림)
+     */
+    public VelocityRuleEngine(Limits limits, int capacity) {
+        this.limits = limits;
+        int total = Integer.highestOneBit(Math.max(capacity, SEGMENTS * MAX_PROBE) - 1) << 1;
+        this.slotsPerSegment = total / SEGMENTS;
+
+        this.keys = new long[total];
+        this.lastSeen = new long[total];
+        this.minuteHeads = new long[total];
+        this.hourHeads = new long[total];
+        this.minuteCounts = new int[total * MINUTE_BUCKETS];
+        this.minuteAmounts = new long[total * MINUTE_BUCKETS];
+        this.hourCounts = new int[total * HOUR_BUCKETS];
+        this.hourAmounts = new long[total * HOUR_BUCKETS];
+        for (int i = 0; i < SEGMENTS; i++) locks[i] = new Object();
+    }
+
+    /**
+     * 결제 한 건을 규칙에 비추어 판정만 하고 윈도우에는 기록하지 않습니다. (검증 단계용)
+     *
+     * @param uid    사용자 ID (null이면 전체 규칙만 적용)
+     * @param amount 결제 금액
+     * @return 판정 결과
+     */
+    public Verdict evaluate(String uid, long amount) {
+        return evaluate(uid, amount, System.currentTimeMillis());
+    }
+
+    /**
+     * 결제 한 건을 규칙에 비추어 판정하고, 허용된 경우에만 윈도우에 기록합니다. (지급 단계용)
+     * <p>
+     * 판정과 기록을 같은 잠금 안에서 수행하므로, 동시 요청이 {@link #evaluate}를 함께 통과했더라도 한도를 넘겨 기록되지 않습니다.
+     * 사용자 규칙에 걸린 결제는 전체 윈도우에도 기록하지 않습니다.
+     *
+     * @param uid    사용자 ID (null이면 전체 규칙만 적용)
+     * @param amount 결제 금액
+     * @return 판정 결과
+     */
+    public Verdict record(String uid, long amount) {
+        return record(uid, amount, System.currentTimeMillis());
+    }
+
+    /**
+     * 지정한 시각 기준으로 {@link #evaluate(String, long)}를 수행합니다.
+     *
+     * @param now 판정 시각 (epoch 밀리초)
+     */
+    public Verdict evaluate(String uid, long amount, long now) {
+        if (amount <= 0) return Verdict.INVALID_AMOUNT;
+        if (globalTotal(now / MINUTE_BUCKET_MILLIS) >= limits.maxGlobalPerMinute()) return Verdict.GLOBAL_RATE;
+        if (uid == null) return Verdict.ALLOW;
+
+        long key = hash(uid);
+        int segment = segmentOf(key);
+        synchronized (locks[segment]) {
+            int slot = lookupSlot(segment, key);
+            if (slot < 0) return checkUid(-1, amount, 0, 0);
+            return checkUid(slot, amount, now / MINUTE_BUCKET_MILLIS, now / HOUR_BUCKET_MILLIS);
+        }
+    }
+
+    /**
+     * 지정한 시각 기준으로 {@link #record(String, long)}를 수행합니다.
+     * 이미 기록된 시각보다 이전 시각이면 가장 최근 구간에 기록합니다.
+     *
+     * @param now 결제 시각 (epoch 밀리초)
+     */
+    public Verdict record(String uid, long amount, long now) {
+        if (amount <= 0) return Verdict.INVALID_AMOUNT;
+        if (uid == null) return recordGlobal(now) ? Verdict.ALLOW : Verdict.GLOBAL_RATE;
+
+        long key = hash(uid);
+        int segment = segmentOf(key);
+        synchronized (locks[segment]) {
+            int slot = findSlot(segment, key, now);
+            lastSeen[slot] = now;
+
+            long minuteEpoch = advance(minuteCounts, minuteAmounts, minuteHeads, slot, MINUTE_BUCKETS, now / MINUTE_BUCKET_MILLIS);
+            long hourEpoch = advance(hourCounts, hourAmounts, hourHeads, slot, HOUR_BUCKETS, now / HOUR_BUCKET_MILLIS);
+
+            Verdict verdict = checkUid(slot, amount, minuteEpoch, hourEpoch);
+            if (!verdict.isAllowed()) return verdict;
+            if (!recordGlobal(now)) return Verdict.GLOBAL_RATE;
+
+            addUid(slot, amount, minuteEpoch, hourEpoch);
+            return Verdict.ALLOW;
+        }
+    }
+
+    /**
+     * 이미 지급을 마친 결제를 한도와 관계없이 윈도우에 기록합니다.
+     * <p>
+     * 지급 전에 {@link #evaluate}를 통과한 동시 결제가 함께 지급되어 한도를 넘더라도, 실제로 지급한 결제는 모두 이후 판정에 반영됩니다.
+     *
+     * @param uid    사용자 ID (null이면 전체 윈도우에만 기록)
+     * @param amount 결제 금액 (0 이하이면 기록하지 않음)
+     * @param now    결제 시각 (epoch 밀리초)
+     */
+    public void recordGranted(String uid, long amount, long now) {
+        if (amount <= 0) return;
+        addGlobal(now / MINUTE_BUCKET_MILLIS);
+        if (uid == null) return;
+
+        long key = hash(uid);
+        int segment = segmentOf(key);
+        synchronized (locks[segment]) {
+            int slot = findSlot(segment, key, now);
+            lastSeen[slot] = now;
+            long minuteEpoch = advance(minuteCounts, minuteAmounts, minuteHeads, slot, MINUTE_BUCKETS, now / MINUTE_BUCKET_MILLIS);
+            long hourEpoch = advance(hourCounts, hourAmounts, hourHeads, slot, HOUR_BUCKETS, now / HOUR_BUCKET_MILLIS);
+            addUid(slot, amount, minuteEpoch, hourEpoch);
+        }
+    }
+
+    /**
+     * 슬롯의 현재 구간에 결제 한 건을 더합니다. 세그먼트 잠금 안에서 호출해야 합니다.
+     */
+    private void addUid(int slot, long amount, long minuteEpoch, long hourEpoch) {
+        int minuteIndex = slot * MINUTE_BUCKETS + (int) (minuteEpoch % MINUTE_BUCKETS);
+        minuteCounts[minuteIndex]++;
+        minuteAmounts[minuteIndex] += amount;
+        int hourIndex = slot * HOUR_BUCKETS + (int) (hourEpoch % HOUR_BUCKETS);
+        hourCounts[hourIndex]++;
+        hourAmounts[hourIndex] += amount;
+    }
+
+    /**
+     * 슬롯의 현재 윈도우에 이번 결제를 더했을 때 사용자 한도를 넘는지 확인합니다. 윈도우는 변경하지 않습니다.
+     *
+     * @param slot        슬롯 번호 (-1이면 기록이 없는 사용자)
+     * @param minuteEpoch 현재 분 단위 구간 번호
+     * @param hourEpoch   현재 시간 단위 구간 번호
+     */
+    private Verdict checkUid(int slot, long amount, long minuteEpoch, long hourEpoch) {
+        int minuteCount = 1;
+        long minuteAmount = amount;
+        int hourCount = 1;
+        long hourAmount = amount;
+        if (slot >= 0) {
+            long head = minuteHeads[slot];
+            // 아직 advance되지 않은 슬롯이면 윈도우를 벗어난 구간은 건너뜀
+            for (long e = Math.max(0, Math.max(head, minuteEpoch) - MINUTE_BUCKETS + 1); e <= head; e++) {
+                int index = slot * MINUTE_BUCKETS + (int) (e % MINUTE_BUCKETS);
+                minuteCount += minuteCounts[index];
+                minuteAmount += minuteAmounts[index];
+            }
+            head = hourHeads[slot];
+            for (long e = Math.max(0, Math.max(head, hourEpoch) - HOUR_BUCKETS + 1); e <= head; e++) {
+                int index = slot * HOUR_BUCKETS + (int) (e % HOUR_BUCKETS);
+                hourCount += hourCounts[index];
+                hourAmount += hourAmounts[index];
+            }
+        }
+        if (minuteCount > limits.maxCountPerMinute()) return Verdict.UID_COUNT_PER_MINUTE;
+        if (minuteAmount > limits.maxAmountPerMinute()) return Verdict.UID_AMOUNT_PER_MINUTE;
+        if (hourCount > limits.maxCountPerHour()) return Verdict.UID_COUNT_PER_HOUR;
+        if (hourAmount > limits.maxAmountPerHour()) return Verdict.UID_AMOUNT_PER_HOUR;
+        return Verdict.ALLOW;
+    }
+
+    /**
+     * 전체 윈도우에 결제를 기록합니다.
+     *
+     * @return 전체 한도 이내이면 true
+     */
+    private boolean recordGlobal(long now) {
+        long epoch = now / MINUTE_BUCKET_MILLIS;
+        if (globalTotal(epoch) >= limits.maxGlobalPerMinute()) return false;
+
+        addGlobal(epoch);
+        return true;
+    }
+
+    /**
+     * 전체 윈도우의 현재 구간에 결제 한 건을 더합니다. 구간이 바뀌었으면 먼저 비웁니다.
+     */
+    private void addGlobal(long epoch) {
+        int bucket = (int) (epoch % MINUTE_BUCKETS);
+        long current = globalEpochs.get(bucket);
+        if (current != epoch && globalEpochs.compareAndSet(bucket, current, epoch)) {
+            globalCounts.set(bucket, 0);
+        }
+        globalCounts.incrementAndGet(bucket);
+    }
+
+    /**
+     * 최근 1분 동안 전체 윈도우에 기록된 결제 건수
+     */
+    private long globalTotal(long epoch) {
+        long oldest = epoch - MINUTE_BUCKETS + 1;
+        long total = 0;
+        for (int i = 0; i < MINUTE_BUCKETS; i++) {
+            long bucketEpoch = globalEpochs.get(i);
+            if (bucketEpoch >= oldest && bucketEpoch <= epoch) total += globalCounts.get(i);
+        }
+        return total;
+    }
+
+    private static int segmentOf(long key) {
+        return (int) (key >>> 58) & (SEGMENTS - 1);
+    }
+
+    /**
+     * uid 키에 해당하는 슬롯을 찾습니다. 새 슬롯은 할당하지 않습니다.
+     *
+     * @return 슬롯 번호, 없으면 -1
+     */
+    private int lookupSlot(int segment, long key) {
+        int base = segment * slotsPerSegment;
+        int mask = slotsPerSegment - 1;
+        int start = (int) key & mask;
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            int slot = base + ((start + probe) & mask);
+            if (keys[slot] == key) return slot;
+            if (keys[slot] == 0) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * uid 키에 해당하는 슬롯을 찾거나, 빈 슬롯 또는 가장 오래 사용되지 않은 슬롯을 할당합니다.
+     */
+    private int findSlot(int segment, long key, long now) {
+        int base = segment * slotsPerSegment;
+        int mask = slotsPerSegment - 1;
+        int start = (int) key & mask;
+
+        int victim = -1;
+        long victimSeen = Long.MAX_VALUE;
+        for (int probe = 0; probe < MAX_PROBE; probe++) {
+            int slot = base + ((start + probe) & mask);
+            long existing = keys[slot];
+            if (existing == key) return slot;
+            if (existing == 0) {
+                victim = slot;
+                break;
+            }
+            if (lastSeen[slot] < victimSeen) {
+                victimSeen = lastSeen[slot];
+                victim = slot;
+            }
+        }
+
+        // 윈도우 헤드를 0으로 돌려 다음 advance에서 이전 사용자의 기록이 모두 지워지도록 함
+        keys[victim] = key;
+        lastSeen[victim] = now;
+        minuteHeads[victim] = 0;
+        hourHeads[victim] = 0;
+        return victim;
+    }
+
+    /**
+     * 슬롯의 윈도우를 현재 구간까지 이동시키며 지나간 구간을 비웁니다.
+     *
+     * @return 현재 구간 번호 (시계가 거꾸로 간 경우 기존 헤드)
+     */
+    private static long advance(int[] counts, long[] amounts, long[] heads, int slot, int buckets, long epoch) {
+        long head = heads[slot];
+        if (epoch <= head) return head;
+
+        int base = slot * buckets;
+        if (epoch - head >= buckets) {
+            for (int i = 0; i < buckets; i++) {
+                counts[base + i] = 0;
+                amounts[base + i] = 0;
+            }
+        } else {
+            for (long e = head + 1; e <= epoch; e++) {
+                int index = base + (int) (e % buckets);
+                counts[index] = 0;
+                amounts[index] = 0;
+            }
+        }
+        heads[slot] = epoch;
+        return epoch;
+    }
+
+    /**
+     * uid를 64비트 해시로 변환합니다 (FNV-1a 후 MurmurHash3 fmix64). 0은 빈 슬롯 표시로 예약됩니다.
+     */
+    private static long hash(String uid) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < uid.length(); i++) {
+            h ^= uid.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,76 @@
+package com.febrie.payment.shard;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 가상 노드 기반 일관된 해시 링
+ * <p>
+ * 노드가 추가/제거될 때 해당 노드가 담당하던 키만 재배치됩니다.
+ * 조회는 불변 스냅샷을 읽으므로 잠금이 없고, 변경은 드물기 때문에 복사 후 교체합니다.
+ */
+public class ConsistentHashRing<T> {
+
+    private final int virtualNodes;
+    private volatile NavigableMap<Long, T> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다: " + virtualNodes);
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * 노드를 링에 추가합니다.
+     *
+     * @param node    추가할 노드
+     * @param nodeKey 노드 식별자 (가상 노드 해시의 기준)
+     */
+    public synchronized void add(@NotNull T node, @NotNull String nodeKey) {
+        TreeMap<Long, T> next = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            next.put(hash(nodeKey + "#" + i), node);
+        }
+        ring = next;
+    }
+
+    /**
+     * 노드를 링에서 제거합니다.
+     */
+    public synchronized void remove(@NotNull T node) {
+        TreeMap<Long, T> next = new TreeMap<>(ring);
+        next.values().removeIf(node::equals);
+        ring = next;
+    }
+
+    /**
+     * 키를 담당하는 노드(키의 해시에서 시계 방향으로 처음 만나는 노드)를 찾습니다.
+     *
+     * @param key 라우팅 키
+     * @return 담당 노드, 링이 비어 있으면 null
+     */
+    public @Nullable T get(@NotNull String key) {
+        NavigableMap<Long, T> snapshot = ring;
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<Long, T> entry = snapshot.ceilingEntry(hash(key));
+        return (entry != null ? entry : snapshot.firstEntry()).getValue();
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    private static long hash(@NotNull String key) {
+        return MurmurHash3.hash128x64(key.getBytes(StandardCharsets.UTF_8))[0];
+    }
+}
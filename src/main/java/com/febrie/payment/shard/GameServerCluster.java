@@ -0,0 +1,134 @@
+package com.febrie.payment.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * uid 기반 일관된 해시로 게임 서버 샤드를 선택하는 클러스터
+ * <p>
+ * 사용자 상태는 담당 샤드에만 있으므로 요청은 항상 담당 샤드로 보냅니다.
+ * 주기적으로 각 샤드의 상태를 확인하며, 호출 측은 담당 샤드가 응답하지 않으면 다른 샤드로 돌리지 않고 실패 처리합니다.
+ */
+@Slf4j
+public class GameServerCluster {
+
+    private static final int VIRTUAL_NODES = 160;
+    private static final long HEALTH_CHECK_INTERVAL_SECONDS = 5;
+    private static final String HEALTH_CHECK_PATH = "/health";
+
+    private final ConsistentHashRing<GameServerShard> ring = new ConsistentHashRing<>(VIRTUAL_NODES);
+    private final Map<String, GameServerShard> shards = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService healthChecker;
+
+    public GameServerCluster(@NotNull List<String> urls) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("게임 서버 URL이 최소 하나 필요합니다");
+        }
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "game-server-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 모든 필드를 초기화한 뒤 샤드를 등록하고, 재정의 가능한 addShard 대신 내부 메소드를 사용
+        urls.forEach(this::register);
+        healthChecker.scheduleWithFixedDelay(this::checkHealth,
+                HEALTH_CHECK_INTERVAL_SECONDS, HEALTH_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 샤드를 추가합니다. 새 샤드가 담당하게 되는 키만 재배치됩니다.
+     */
+    public void addShard(@NotNull String url) {
+        register(url);
+    }
+
+    private void register(@NotNull String url) {
+        String key = GameServerShard.normalize(url);
+        if (shards.containsKey(key)) return;
+
+        GameServerShard shard = new GameServerShard(key);
+        if (shards.putIfAbsent(key, shard) == null) {
+            ring.add(shard, key);
+            log.info("게임 서버 샤드 추가: {}", key);
+        } else {
+            shard.close();
+        }
+    }
+
+    /**
+     * 샤드를 제거합니다. 제거된 샤드가 담당하던 키만 재배치됩니다.
+     */
+    public void removeShard(@NotNull String url) {
+        GameServerShard shard = shards.remove(GameServerShard.normalize(url));
+        if (shard != null) {
+            ring.remove(shard);
+            shard.close();
+            log.info("게임 서버 샤드 제거: {}", shard.getUrl());
+        }
+    }
+
+    /**
+     * 사용자 ID를 담당하는 샤드를 찾습니다.
+     *
+     * 담당 샤드가 응답하지 않는 상태여도 다른 샤드로 넘기지 않습니다. (상태 확인은 {@link GameServerShard#isHealthy()})
+     *
+     * @param uid 사용자 ID
+     * @return 담당 샤드
+     */
+    public @NotNull GameServerShard route(String uid) {
+        GameServerShard shard = ring.get(uid == null ? "" : uid);
+        if (shard == null) {
+            throw new IllegalStateException("등록된 게임 서버 샤드가 없습니다");
+        }
+        return shard;
+    }
+
+    public @NotNull List<GameServerShard> getShards() {
+        return List.copyOf(shards.values());
+    }
+
+    public void shutdown() {
+        healthChecker.shutdownNow();
+        shards.values().forEach(GameServerShard::close);
+    }
+
+    private void checkHealth() {
+        for (GameServerShard shard : shards.values()) {
+            boolean healthy;
+            try {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(shard.getUrl() + HEALTH_CHECK_PATH))
+                        .GET()
+                        .timeout(Duration.ofSeconds(2))
+                        .build();
+                // 연결이 되고 5xx가 아니면 정상으로 간주합니다
+                healthy = shard.getHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                healthy = false;
+            }
+
+            if (healthy != shard.isHealthy()) {
+                shard.setHealthy(healthy);
+                if (healthy) {
+                    log.info("게임 서버 샤드 복구: {}", shard.getUrl());
+                } else {
+                    log.warn("게임 서버 샤드 응답 없음: {}", shard.getUrl());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.febrie.payment.shard;
+
+import com.febrie.http.HttpUtils;
+import com.febrie.http.LatencyTracker;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게임 서버 샤드 하나를 나타냅니다.
+ * <p>
+ * 샤드마다 별도의 {@link HttpClient}를 두어 연결 풀이 샤드 단위로 분리됩니다.
+ * 멱등 요청의 타임아웃은 샤드의 최근 멱등 요청 응답 시간 분포({@link LatencyTracker})에 맞춰 조정되며,
+ * p95 시간 안에 응답이 없으면 한 번 더 보내 먼저 도착한 응답을 사용합니다.
+ * 멱등이 아닌 요청(구매 지급)은 고정 타임아웃({@link LatencyTracker#NON_IDEMPOTENT_TIMEOUT_MILLIS})으로 한 번만 보냅니다.
+ */
+public class GameServerShard {
+
+    @Getter
+    private final String url;
+    @Getter
+    private final HttpClient httpClient;
+    @Getter
+    private final LatencyTracker latency;
+    @Getter
+    private volatile boolean healthy = true;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    public GameServerShard(@NotNull String url) {
+        this.url = normalize(url);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(HttpUtils.CONNECT_TIMEOUT_MILLIS))
+                .build();
+        try {
+            this.latency = HttpUtils.getLatencyTracker(URI.create(this.url).toURL());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("올바르지 않은 게임 서버 URL: " + url, e);
+        }
+    }
+
+    /**
+     * 샤드에 요청을 보냅니다. 멱등 요청의 타임아웃은 최근 응답 시간 분포로 정해집니다.
+     *
+     * @param builder    요청 빌더 (URI, 메소드, 헤더 설정 완료 상태)
+     * @param idempotent 멱등 요청 여부 (true이면 헤징 요청을 허용)
+     * @return 응답
+     */
+    public HttpResponse<String> send(@NotNull HttpRequest.Builder builder, boolean idempotent) throws IOException, InterruptedException {
+        long timeout = idempotent ? latency.timeoutMillis() : LatencyTracker.NON_IDEMPOTENT_TIMEOUT_MILLIS;
+        HttpRequest request = builder.timeout(Duration.ofMillis(timeout)).build();
+        long hedgeDelay = idempotent ? latency.hedgeDelayMillis() : -1;
+
+        CompletableFuture<HttpResponse<String>> primary = attempt(request, idempotent);
+        try {
+            if (hedgeDelay < 0) {
+                return primary.get();
+            }
+            try {
+                return primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                hedges.increment();
+                CompletableFuture<HttpResponse<String>> backup = attempt(request, true);
+                try {
+                    return firstSuccessful(primary, backup).get();
+                } finally {
+                    primary.cancel(true);
+                    backup.cancel(true);
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * 요청을 한 번 보내고, 멱등 요청이면 응답 또는 타임아웃까지 걸린 시간을 기록합니다.
+     * <p>
+     * {@code sendAsync}가 반환한 future를 그대로 돌려주므로, 이를 취소하면 진행 중인 HTTP 교환도 중단됩니다.
+     */
+    private CompletableFuture<HttpResponse<String>> attempt(HttpRequest request, boolean idempotent) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> future = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        if (idempotent) {
+            future.whenComplete((response, error) -> {
+                if (response != null || error instanceof HttpTimeoutException
+                        || (error != null && error.getCause() instanceof HttpTimeoutException)) {
+                    latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * 두 요청 중 먼저 성공한 응답을 반환합니다. 둘 다 실패하면 마지막 오류로 완료됩니다.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(first, second)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failed.incrementAndGet() == 2) {
+                    result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 샤드 식별에 쓰는 URL 형태로 정규화합니다. (끝의 '/' 제거)
+     */
+    public static @NotNull String normalize(@NotNull String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * 샤드 전용 클라이언트를 종료합니다. 진행 중인 요청은 마저 처리됩니다.
+     */
+    public void close() {
+        httpClient.shutdown();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    /**
+     * 요청 결과를 기록합니다.
+     *
+     * @param success 요청 성공 여부
+     */
+    public void record(boolean success) {
+        requests.increment();
+        if (!success) failures.increment();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
@@ -0,0 +1,43 @@
+package com.febrie.payment.signing;
+
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 스레드별로 미리 키를 설정해 둔 HMAC-SHA256 계산기
+ * <p>
+ * {@link Mac} 생성과 키 설정(ipad/opad 계산)은 스레드당 한 번만 수행하고,
+ * {@link Mac#doFinal()}이 키가 설정된 초기 상태로 되돌리므로 이후 요청은 해시 계산 비용만 듭니다.
+ */
+final class HmacSha256 {
+
+    private static final byte SEPARATOR = '\n';
+
+    private final ThreadLocal<Mac> macs;
+
+    HmacSha256(byte @NotNull [] key) {
+        // 잘못된 키는 첫 요청이 아니라 생성 시점에 드러나도록 미리 한 번 초기화
+        HmacUtils.getInitializedMac(HmacAlgorithms.HMAC_SHA_256, key);
+        byte[] copy = key.clone();
+        this.macs = ThreadLocal.withInitial(() -> HmacUtils.getInitializedMac(HmacAlgorithms.HMAC_SHA_256, copy));
+    }
+
+    /**
+     * {@code path \n timestamp \n nonce \n body}의 서명을 계산합니다.
+     */
+    byte[] sign(@NotNull String path, @NotNull String timestamp, @NotNull String nonce, byte @NotNull [] body) {
+        Mac mac = macs.get();
+        mac.update(path.getBytes(StandardCharsets.UTF_8));
+        mac.update(SEPARATOR);
+        mac.update(timestamp.getBytes(StandardCharsets.US_ASCII));
+        mac.update(SEPARATOR);
+        mac.update(nonce.getBytes(StandardCharsets.US_ASCII));
+        mac.update(SEPARATOR);
+        mac.update(body);
+        return mac.doFinal();
+    }
+}
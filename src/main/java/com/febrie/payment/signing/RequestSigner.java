@@ -0,0 +1,102 @@
+package com.febrie.payment.signing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * 게임 서버로 보내는 요청에 HMAC-SHA256 서명을 붙입니다.
+ * <p>
+ * 서명 대상은 {@code 경로 \n 타임스탬프 \n nonce \n 바디}이며, 바디는 키를 정렬한 JSON(정규화된 바디)으로 보내야
+ * 같은 내용이 항상 같은 바이트가 됩니다. 서명, 타임스탬프(epoch 밀리초), nonce는 각각
+ * {@value #SIGNATURE_HEADER}, {@value #TIMESTAMP_HEADER}, {@value #NONCE_HEADER} 헤더로 전달합니다.
+ * 수신 측 검증은 {@link SignatureVerifier}를 사용합니다.
+ * <p>
+ * 서명 키는 저장소의 설정 파일에 두지 않고, 배포 환경에서 {@code -D}{@value #KEY_PROPERTY} 시스템 속성이나
+ * {@value #KEY_ENV} 환경 변수로 주입합니다.
+ */
+@Slf4j
+public class RequestSigner {
+
+    public static final String SIGNATURE_HEADER = "X-Signature";
+    public static final String TIMESTAMP_HEADER = "X-Signature-Timestamp";
+    public static final String NONCE_HEADER = "X-Signature-Nonce";
+
+    /**
+     * 서명 키 시스템 속성
+     */
+    public static final String KEY_PROPERTY = "game-server-signing-key";
+    /**
+     * 서명 키 환경 변수 (시스템 속성이 없을 때 사용)
+     */
+    public static final String KEY_ENV = "GAME_SERVER_SIGNING_KEY";
+
+    private static final SecureRandom NONCE_RANDOM = new SecureRandom();
+    private static final int NONCE_BYTES = 16;
+
+    private final HmacSha256 hmac;
+
+    public RequestSigner(byte @NotNull [] key) {
+        this.hmac = new HmacSha256(key);
+    }
+
+    /**
+     * 배포 환경에 설정된 서명 키로 서명기를 만듭니다.
+     * 게임 서버는 서명 없는 구매 요청을 거부하므로, 키가 없으면 서버를 띄우지 않도록 예외를 던집니다.
+     *
+     * @return 서명기
+     * @throws IllegalStateException 서명 키가 설정되지 않은 경우
+     */
+    public static @NotNull RequestSigner fromConfig() {
+        byte[] key = loadKey();
+        if (key == null) {
+            log.error("게임 서버 서명 키가 설정되지 않았습니다. -D{} 시스템 속성 또는 {} 환경 변수로 지정하세요", KEY_PROPERTY, KEY_ENV);
+            throw new IllegalStateException("게임 서버 서명 키(" + KEY_PROPERTY + ")가 설정되지 않았습니다.");
+        }
+        return new RequestSigner(key);
+    }
+
+    /**
+     * 시스템 속성, 환경 변수 순으로 서명 키를 읽습니다.
+     *
+     * @return 키, 설정되지 않았으면 null
+     */
+    public static byte @Nullable [] loadKey() {
+        String key = System.getProperty(KEY_PROPERTY);
+        if (key == null || key.isBlank()) key = System.getenv(KEY_ENV);
+        return key == null || key.isBlank() ? null : key.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 요청 빌더에 서명 헤더를 추가합니다.
+     *
+     * @param builder 요청 빌더
+     * @param path    요청 경로 (예: {@code /purchase})
+     * @param body    전송할 바디 (정규화된 JSON)
+     */
+    public void sign(@NotNull HttpRequest.Builder builder, @NotNull String path, byte @NotNull [] body) {
+        String timestamp = Long.toString(System.currentTimeMillis());
+        String nonce = newNonce();
+        builder.header(SIGNATURE_HEADER, signature(path, timestamp, nonce, body))
+                .header(TIMESTAMP_HEADER, timestamp)
+                .header(NONCE_HEADER, nonce);
+    }
+
+    /**
+     * 서명 값을 16진수 문자열로 계산합니다.
+     */
+    public @NotNull String signature(@NotNull String path, @NotNull String timestamp, @NotNull String nonce, byte @NotNull [] body) {
+        return Hex.encodeHexString(hmac.sign(path, timestamp, nonce, body));
+    }
+
+    private static String newNonce() {
+        byte[] nonce = new byte[NONCE_BYTES];
+        NONCE_RANDOM.nextBytes(nonce);
+        return Hex.encodeHexString(nonce);
+    }
+}
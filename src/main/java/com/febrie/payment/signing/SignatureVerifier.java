@@ -0,0 +1,128 @@
+package com.febrie.payment.signing;
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link RequestSigner}가 붙인 서명을 검증합니다.
+ * <p>
+ * 타임스탬프가 허용 범위를 벗어난 요청과, 허용 범위 안에서 이미 사용된 nonce는 거부합니다.
+ * nonce 캐시는 크기가 제한되어 있으며, 만료 전 항목을 밀어내야 할 때는 밀려난 항목의 타임스탬프 이하인 요청을
+ * 모두 거부하여 캐시가 가득 차도 재전송이 통과하지 않도록 합니다.
+ */
+public class SignatureVerifier {
+
+    /**
+     * 검증 결과
+     */
+    public enum Result {
+        VALID,
+        MISSING,
+        EXPIRED,
+        INVALID,
+        REPLAYED;
+
+        public boolean isValid() {
+            return this == VALID;
+        }
+    }
+
+    private static final int MAX_NONCE_LENGTH = 64;
+
+    private final HmacSha256 hmac;
+    private final long windowMillis;
+    private final int maxNonces;
+
+    /**
+     * nonce → 타임스탬프 (삽입 순서)
+     */
+    private final LinkedHashMap<String, Long> nonces = new LinkedHashMap<>();
+    private long evictedUpTo = Long.MIN_VALUE;
+
+    /**
+     * @param key       서명 키
+     * @param window    허용할 시계 오차 (타임스탬프가 현재 시각 ± window 안이어야 함)
+     * @param maxNonces 기억할 최대 nonce 수
+     */
+    public SignatureVerifier(byte @NotNull [] key, @NotNull Duration window, int maxNonces) {
+        this.hmac = new HmacSha256(key);
+        this.windowMillis = window.toMillis();
+        this.maxNonces = maxNonces;
+    }
+
+    /**
+     * 요청 서명을 검증합니다.
+     *
+     * @param path      요청 경로
+     * @param timestamp {@value RequestSigner#TIMESTAMP_HEADER} 헤더 값
+     * @param nonce     {@value RequestSigner#NONCE_HEADER} 헤더 값
+     * @param signature {@value RequestSigner#SIGNATURE_HEADER} 헤더 값
+     * @param body      수신한 바디
+     * @return 검증 결과
+     */
+    public @NotNull Result verify(@NotNull String path, @Nullable String timestamp, @Nullable String nonce,
+                                  @Nullable String signature, byte @NotNull [] body) {
+        if (timestamp == null || nonce == null || signature == null
+                || nonce.isEmpty() || nonce.length() > MAX_NONCE_LENGTH) {
+            return Result.MISSING;
+        }
+
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return Result.INVALID;
+        }
+        long now = System.currentTimeMillis();
+        if (Math.abs(now - sentAt) > windowMillis) {
+            return Result.EXPIRED;
+        }
+
+        byte[] expected = hmac.sign(path, timestamp, nonce, body);
+        byte[] actual;
+        try {
+            actual = Hex.decodeHex(signature);
+        } catch (DecoderException e) {
+            return Result.INVALID;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Result.INVALID;
+        }
+
+        // 서명이 맞는 요청만 nonce를 기록하므로, 위조 요청으로 캐시를 채울 수 없음
+        return remember(nonce, sentAt, now) ? Result.VALID : Result.REPLAYED;
+    }
+
+    public synchronized int getNonceCount() {
+        return nonces.size();
+    }
+
+    private synchronized boolean remember(String nonce, long sentAt, long now) {
+        if (sentAt <= evictedUpTo || nonces.containsKey(nonce)) {
+            return false;
+        }
+
+        // 허용 범위를 벗어난 nonce는 어차피 타임스탬프 검사에서 거부되므로 제거
+        Iterator<Map.Entry<String, Long>> iterator = nonces.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            boolean expired = eldest.getValue() < now - windowMillis;
+            if (!expired && nonces.size() < maxNonces) break;
+            if (!expired) {
+                evictedUpTo = Math.max(evictedUpTo, eldest.getValue());
+            }
+            iterator.remove();
+        }
+
+        nonces.put(nonce, sentAt);
+        return true;
+    }
+}
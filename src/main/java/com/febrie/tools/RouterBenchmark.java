@@ -0,0 +1,202 @@
+package com.febrie.tools;
+
+import com.febrie.http.Router;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 라우터 디스패치 벤치마크
+ * <p>
+ * 결제 서버와 같은 라우트 패턴을 빈 핸들러로 등록한 {@link Router}에 메모리 안의 {@link HttpExchange}를 직접 넘겨,
+ * 네트워크 없이 경로 매칭, 메소드 선택, 핸들러 호출, JSON 응답 직렬화까지의 요청당 비용을 측정합니다.
+ * 404/405 응답 경로도 함께 측정합니다.
+ * <p>
+ * 사용법: {@code RouterBenchmark [경로별 반복 횟수]}
+ */
+public class RouterBenchmark {
+
+    private record Case(String method, String path, int expectedStatus) {
+    }
+
+    private static final List<Case> CASES = List.of(
+            new Case("POST", "/api/payment/verify", 200),
+            new Case("POST", "/api/payment/process", 200),
+            new Case("POST", "/api/payment/process/batch", 200),
+            new Case("GET", "/api/payment/order-20240601-0001/events", 200),
+            new Case("GET", "/api/credits/stats", 200),
+            new Case("GET", "/api/credits/user-123456", 200),
+            new Case("GET", "/api/payment/verify", 405),
+            new Case("GET", "/api/unknown/path", 404));
+
+    public static void main(String @NotNull [] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "ok");
+        Router router = new Router()
+                .post("/api/payment/verify", request -> response)
+                .post("/api/payment/process", request -> response)
+                .post("/api/payment/process/batch", request -> response)
+                .get("/api/payment/{orderId}/events", request -> response)
+                .get("/api/credits/stats", request -> response)
+                .get("/api/credits/{uid}", request -> response);
+
+        // 모든 경로를 먼저 한 번씩 돌려 공통 코드의 JIT 컴파일을 마침
+        for (Case c : CASES) {
+            dispatch(router, new MemoryExchange(c.method, URI.create(c.path)), c, iterations);
+        }
+
+        System.out.printf("경로별 %d회 반복%n", iterations);
+        long totalNanos = 0;
+        for (Case c : CASES) {
+            MemoryExchange exchange = new MemoryExchange(c.method, URI.create(c.path));
+            long start = System.nanoTime();
+            dispatch(router, exchange, c, iterations);
+            long elapsed = System.nanoTime() - start;
+            totalNanos += elapsed;
+            System.out.printf("  %-6s %-42s %4d  %6.0f ns/req  %,12.0f req/s%n",
+                    c.method, c.path, c.expectedStatus, (double) elapsed / iterations, iterations * 1e9 / elapsed);
+        }
+        long requests = (long) iterations * CASES.size();
+        System.out.printf("전체 평균 %.0f ns/req, %,.0f req/s%n", (double) totalNanos / requests, requests * 1e9 / totalNanos);
+    }
+
+    private static void dispatch(Router router, MemoryExchange exchange, Case c, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            exchange.reset();
+            router.handle(exchange);
+            if (exchange.responseCode != c.expectedStatus) {
+                throw new IllegalStateException(c.method + " " + c.path + ": 예상 " + c.expectedStatus + ", 실제 " + exchange.responseCode);
+            }
+        }
+    }
+
+    /**
+     * 응답을 버리는 메모리 전용 교환
+     */
+    private static final class MemoryExchange extends HttpExchange {
+        private static final InetSocketAddress ADDRESS = new InetSocketAddress("127.0.0.1", 0);
+        private static final byte[] EMPTY = new byte[0];
+
+        private final String method;
+        private final URI uri;
+        private final Headers requestHeaders = new Headers();
+        private Headers responseHeaders = new Headers();
+        private int responseCode = -1;
+        // 라우터가 응답마다 닫으므로 close도 무시하는 스트림
+        private final OutputStream responseBody = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte @NotNull [] b, int off, int len) {
+            }
+        };
+
+        private MemoryExchange(String method, URI uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        void reset() {
+            responseCode = -1;
+            responseHeaders = new Headers();
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return requestHeaders;
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return uri;
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return method;
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return new ByteArrayInputStream(EMPTY);
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            return responseBody;
+        }
+
+        @Override
+        public void sendResponseHeaders(int rCode, long responseLength) {
+            responseCode = rCode;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return ADDRESS;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return ADDRESS;
+        }
+
+        @Override
+        public String getProtocol() {
+            return "HTTP/1.1";
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+        }
+
+        @Override
+        public void setStreams(InputStream i, OutputStream o) {
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.febrie.tools;
+
+import com.febrie.payment.shard.GameServerCluster;
+import com.febrie.payment.shard.GameServerShard;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게임 서버 샤드 분배 벤치마크
+ * <p>
+ * {@link StubGameServer} 여러 대로 {@link GameServerCluster}를 구성한 뒤 uid별 잔액 조회를 동시에 보내
+ * 샤드별 요청 비율과 처리량을 측정하고, 샤드를 하나 추가했을 때 담당 샤드가 바뀌는 uid 비율을 확인합니다.
+ * <p>
+ * 사용법: {@code ShardBenchmark [샤드 수] [요청 수] [동시 요청 수]}
+ */
+public class ShardBenchmark {
+
+    private static final int DISTINCT_UIDS = 10_000;
+
+    public static void main(String @NotNull [] args) throws Exception {
+        int shardCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+
+        List<StubGameServer> stubs = new ArrayList<>();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i <= shardCount; i++) {
+            StubGameServer stub = StubGameServer.start(0, null);
+            stubs.add(stub);
+            urls.add(stub.getUrl());
+        }
+        // 마지막 대역 서버는 샤드 추가 시 재배치 비율 측정용
+        GameServerCluster cluster = new GameServerCluster(urls.subList(0, shardCount));
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        LongAdder failures = new LongAdder();
+        Map<String, LongAdder> routed = new ConcurrentHashMap<>();
+
+        try {
+            List<Future<?>> pending = new ArrayList<>(requests);
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                String uid = "user-" + (i % DISTINCT_UIDS);
+                pending.add(executor.submit(() -> {
+                    GameServerShard shard = cluster.route(uid);
+                    routed.computeIfAbsent(shard.getUrl(), k -> new LongAdder()).increment();
+                    try {
+                        HttpRequest.Builder request = HttpRequest.newBuilder()
+                                .uri(URI.create(shard.getUrl() + "/balance?uid=" + URLEncoder.encode(uid, StandardCharsets.UTF_8)))
+                                .GET();
+                        HttpResponse<String> response = shard.send(request, true);
+                        if (response.statusCode() != 200) failures.increment();
+                    } catch (Exception e) {
+                        failures.increment();
+                    }
+                }));
+            }
+            for (Future<?> future : pending) future.get();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("샤드 %d개, 요청 %d건 (uid %d개), 동시 요청 %d, 소요 %.2f초, 실패 %d건%n",
+                    shardCount, requests, DISTINCT_UIDS, concurrency, seconds, failures.sum());
+            for (GameServerShard shard : cluster.getShards()) {
+                long count = routed.getOrDefault(shard.getUrl(), new LongAdder()).sum();
+                long served = stubs.get(urls.indexOf(shard.getUrl())).getRequestCount();
+                System.out.printf("  %s: %d건 (%.1f%%), %.0f req/s, 헤징 포함 실제 수신 %d건%n",
+                        shard.getUrl(), count, count * 100.0 / requests, count / seconds, served);
+            }
+            System.out.printf("전체 처리량: %.0f req/s%n", requests / seconds);
+
+            Map<String, String> owners = new HashMap<>();
+            for (int i = 0; i < DISTINCT_UIDS; i++) {
+                owners.put("user-" + i, cluster.route("user-" + i).getUrl());
+            }
+            cluster.addShard(urls.get(shardCount));
+            int moved = 0;
+            for (Map.Entry<String, String> owner : owners.entrySet()) {
+                if (!cluster.route(owner.getKey()).getUrl().equals(owner.getValue())) moved++;
+            }
+            System.out.printf("샤드 추가 시 담당 샤드가 바뀐 uid: %.1f%% (이상적인 값 %.1f%%)%n",
+                    moved * 100.0 / DISTINCT_UIDS, 100.0 / (shardCount + 1));
+        } finally {
+            executor.shutdownNow();
+            cluster.shutdown();
+            stubs.forEach(StubGameServer::stop);
+        }
+        System.exit(0);
+    }
+}
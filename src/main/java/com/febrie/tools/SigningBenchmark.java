@@ -0,0 +1,123 @@
+package com.febrie.tools;
+
+import com.febrie.payment.signing.RequestSigner;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 게임 서버 구매 요청 서명 벤치마크
+ * <p>
+ * JMH와 같은 방식으로 정해진 시간만큼 도는 워밍업 반복 뒤에 측정 반복을 수행하고, 반복별 ns/op의 평균과 표준편차,
+ * 초당 처리 건수를 출력합니다. 키, 타임스탬프, nonce, 바디는 모두 고정 시드로 만들어 실행마다 같은 입력을 서명하며,
+ * 서명 결과는 체크섬에 누적해 JIT가 계산을 없애지 못하게 합니다.
+ * <ul>
+ *     <li>{@code signature}: 바디 크기별 HMAC-SHA256 계산과 16진수 인코딩 ({@link RequestSigner#signature})</li>
+ *     <li>{@code sign}: 구매 요청 바디에 nonce 생성과 헤더 추가까지 포함한 전체 비용 ({@link RequestSigner#sign})</li>
+ * </ul>
+ * <p>
+ * 사용법: {@code SigningBenchmark [워밍업 반복 수] [측정 반복 수] [반복당 시간(ms)]}
+ */
+public class SigningBenchmark {
+
+    private static final long SEED = 20_240_601L;
+    private static final String PATH = "/purchase";
+    private static final String TIMESTAMP = "1717200000000";
+    private static final String PURCHASE_BODY =
+            "{\"creditAmount\":100,\"price\":1000,\"timestamp\":\"2024-06-01T00:00:00Z\",\"uid\":\"user-123456\"}";
+
+    private interface Operation {
+        long run();
+    }
+
+    private record Case(String name, Operation operation) {
+    }
+
+    private record Result(double meanNanos, double stdDevNanos) {
+    }
+
+    public static void main(String @NotNull [] args) {
+        int warmupIterations = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int measurementIterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationMillis = args.length > 2 ? Long.parseLong(args[2]) : 1_000;
+
+        Random random = new Random(SEED);
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+        String nonce = Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+        RequestSigner signer = new RequestSigner(key);
+        URI uri = URI.create("http://localhost:7998" + PATH);
+
+        List<Case> cases = new ArrayList<>();
+        byte[] purchase = PURCHASE_BODY.getBytes(StandardCharsets.UTF_8);
+        cases.add(new Case("signature " + purchase.length + "B",
+                () -> signer.signature(PATH, TIMESTAMP, nonce, purchase).charAt(0)));
+        for (int size : new int[]{1024, 16 * 1024}) {
+            byte[] body = new byte[size];
+            random.nextBytes(body);
+            cases.add(new Case("signature " + size + "B", () -> signer.signature(PATH, TIMESTAMP, nonce, body).charAt(0)));
+        }
+        cases.add(new Case("sign " + purchase.length + "B", () -> {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+            signer.sign(builder, PATH, purchase);
+            return builder.build().headers().map().size();
+        }));
+
+        System.out.printf("JDK %s, CPU %d개, 워밍업 %d회 + 측정 %d회 x %d ms%n",
+                Runtime.version(), Runtime.getRuntime().availableProcessors(),
+                warmupIterations, measurementIterations, iterationMillis);
+        long checksum = 0;
+        for (Case c : cases) {
+            double[] samples = new double[measurementIterations];
+            long[] sink = new long[1];
+            for (int i = 0; i < warmupIterations; i++) {
+                iteration(c.operation, iterationMillis, sink);
+            }
+            for (int i = 0; i < measurementIterations; i++) {
+                samples[i] = iteration(c.operation, iterationMillis, sink);
+            }
+            checksum += sink[0];
+
+            Result result = summarize(samples);
+            System.out.printf("  %-16s %8.1f ± %6.1f ns/op  %,12.0f ops/s%n",
+                    c.name, result.meanNanos, result.stdDevNanos, 1e9 / result.meanNanos);
+        }
+        System.out.println("체크섬: " + checksum);
+    }
+
+    /**
+     * 정해진 시간 동안 연산을 반복하고 ns/op를 반환합니다.
+     */
+    private static double iteration(Operation operation, long millis, long[] sink) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long operations = 0;
+        long accumulated = 0;
+        long start = System.nanoTime();
+        long now;
+        do {
+            // 시각 확인 비용이 섞이지 않도록 묶어서 실행
+            for (int i = 0; i < 256; i++) {
+                accumulated += operation.run();
+            }
+            operations += 256;
+            now = System.nanoTime();
+        } while (now < deadline);
+        sink[0] += accumulated;
+        return (double) (now - start) / operations;
+    }
+
+    private static @NotNull Result summarize(double[] samples) {
+        double sum = 0;
+        for (double sample : samples) sum += sample;
+        double mean = sum / samples.length;
+        double squares = 0;
+        for (double sample : samples) squares += (sample - mean) * (sample - mean);
+        double stdDev = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0;
+        return new Result(mean, stdDev);
+    }
+}
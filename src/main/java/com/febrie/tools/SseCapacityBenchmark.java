@@ -0,0 +1,168 @@
+package com.febrie.tools;
+
+import com.febrie.Main;
+import com.febrie.http.HttpServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 이벤트(SSE) 대기 연결 용량 벤치마크
+ * <p>
+ * 새 JVM으로 결제 서버를 띄운 뒤 서로 다른 주문의 {@code /api/payment/{orderId}/events} 연결을 지정한 수만큼 열어 두고,
+ * 연결 전후 서버 프로세스의 힙 사용량(GC 직후), RSS, 스레드 수를 비교해 연결 하나당 메모리를 계산합니다.
+ * 클라이언트 소켓은 이 프로세스에 있으므로 측정값에 섞이지 않습니다.
+ * <p>
+ * 사용법: {@code SseCapacityBenchmark [연결 수] [서버 JVM 옵션...]}
+ * (연결 수만큼의 파일 디스크립터가 양쪽 프로세스에 필요합니다)
+ */
+public class SseCapacityBenchmark {
+
+    private static final String SERVER_MODE = "--server";
+    private static final String REPLY_PREFIX = "@@ ";
+    private static final byte[] STREAM_OPENED = ": connected\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    public static void main(String @NotNull [] args) throws Exception {
+        if (args.length > 0 && args[0].equals(SERVER_MODE)) {
+            runServer();
+            return;
+        }
+
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        for (int i = 1; i < args.length; i++) command.add(args[i]);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SseCapacityBenchmark.class.getName());
+        command.add(SERVER_MODE);
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        BufferedReader replies = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        PrintStream commands = new PrintStream(process.getOutputStream(), true, StandardCharsets.UTF_8);
+        List<SocketChannel> channels = new ArrayList<>(connections);
+        try {
+            int port = Integer.parseInt(reply(replies)[0]);
+            InetSocketAddress address = new InetSocketAddress("localhost", port);
+
+            // 클래스 로딩, 핸들러 초기화 등 일회성 비용을 기준선에 포함시키기 위한 준비 연결
+            channels.add(open(address, "capacity-warmup"));
+            Stats before = measure(commands, replies);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                channels.add(open(address, "capacity-" + i));
+            }
+            long openMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Stats after = measure(commands, replies);
+
+            System.out.printf("SSE 연결 %d개 (%d ms), 구독자 수 %d (준비 연결 포함)%n", connections, openMillis, after.subscribers);
+            System.out.printf("  힙: %.1f MB -> %.1f MB, 연결당 %.0f bytes%n",
+                    before.heapBytes / 1e6, after.heapBytes / 1e6, (double) (after.heapBytes - before.heapBytes) / connections);
+            System.out.printf("  RSS: %.1f MB -> %.1f MB, 연결당 %.0f bytes%n",
+                    before.rssBytes / 1e6, after.rssBytes / 1e6, (double) (after.rssBytes - before.rssBytes) / connections);
+            System.out.printf("  스레드: %d -> %d%n", before.threads, after.threads);
+        } finally {
+            for (SocketChannel channel : channels) channel.close();
+            process.destroy();
+            process.waitFor(5, TimeUnit.SECONDS);
+        }
+        System.exit(0);
+    }
+
+    private record Stats(long heapBytes, long rssBytes, int threads, int subscribers) {
+    }
+
+    private static @NotNull SocketChannel open(InetSocketAddress address, String orderId) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.write(ByteBuffer.wrap(("GET /api/payment/" + orderId + "/events HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII)));
+
+        // 응답 헤더와 첫 주석까지 받아야 구독이 등록된 것
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        while (!endsWith(buffer, STREAM_OPENED)) {
+            if (!buffer.hasRemaining() || channel.read(buffer) < 0) {
+                throw new IOException("SSE 연결이 열리지 않았습니다: " + orderId);
+            }
+        }
+        return channel;
+    }
+
+    private static boolean endsWith(ByteBuffer buffer, byte[] suffix) {
+        // 청크 인코딩이므로 주석 뒤에 청크 종료 CRLF가 올 수 있음
+        String received = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+        return received.contains(new String(suffix, StandardCharsets.US_ASCII));
+    }
+
+    private static @NotNull Stats measure(PrintStream commands, BufferedReader replies) throws IOException {
+        commands.println("measure");
+        String[] values = reply(replies);
+        return new Stats(Long.parseLong(values[0]), Long.parseLong(values[1]),
+                Integer.parseInt(values[2]), Integer.parseInt(values[3]));
+    }
+
+    private static String @NotNull [] reply(@NotNull BufferedReader replies) throws IOException {
+        String line;
+        while ((line = replies.readLine()) != null) {
+            if (line.startsWith(REPLY_PREFIX)) return line.substring(REPLY_PREFIX.length()).split(" ");
+        }
+        throw new IOException("서버 프로세스가 종료되었습니다.");
+    }
+
+    /**
+     * 자식 JVM: 결제 서버를 띄우고 표준 입력의 측정 요청에 응답합니다.
+     */
+    private static void runServer() throws Exception {
+        Main.loadConfig();
+        StubGameServer stub = StubGameServer.start(0);
+        HttpServer server = new HttpServer(0, List.of(stub.getUrl()));
+        server.start();
+        System.out.println(REPLY_PREFIX + server.getPort());
+
+        BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (!line.equals("measure")) continue;
+            // 측정 전 가비지 정리
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+                Thread.sleep(100);
+            }
+            Runtime runtime = Runtime.getRuntime();
+            long heap = runtime.totalMemory() - runtime.freeMemory();
+            int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+            int subscribers = server.getPaymentAPI().getEventBus().getSubscriberCount();
+            System.out.println(REPLY_PREFIX + heap + " " + residentSetSize() + " " + threads + " " + subscribers);
+        }
+        server.stop();
+        stub.stop();
+        System.exit(0);
+    }
+
+    private static long residentSetSize() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) return -1;
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+            }
+        }
+        return -1;
+    }
+}
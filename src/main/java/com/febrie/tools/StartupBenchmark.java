@@ -0,0 +1,119 @@
+package com.febrie.tools;
+
+import com.febrie.payment.signing.RequestSigner;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 서버 기동 시간 벤치마크
+ * <p>
+ * 매 실행마다 새 JVM으로 {@code com.febrie.Main}을 띄우고, 프로세스 시작부터
+ * {@code POST /api/payment/process}가 처음 성공할 때까지의 시간을 측정합니다.
+ * 게임 서버는 이 프로세스 안의 {@link StubGameServer}가 대신합니다.
+ * <p>
+ * 사용법: {@code StartupBenchmark [반복 횟수] [자식 JVM 옵션...]}
+ * (예: {@code StartupBenchmark 10 -XX:AOTCache=target/app.aot})
+ */
+public class StartupBenchmark {
+
+    private static final long POLL_INTERVAL_MILLIS = 2;
+    private static final long STARTUP_TIMEOUT_MILLIS = 30_000;
+
+    public static void main(String @NotNull [] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        List<String> jvmOptions = args.length > 1 ? Arrays.asList(args).subList(1, args.length) : List.of();
+
+        StubGameServer stub = StubGameServer.start(0);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        // 측정 대상이 아닌 클라이언트 쪽 초기화 비용을 미리 치름
+        client.send(HttpRequest.newBuilder(URI.create(stub.getUrl() + "/health")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        System.out.printf("자식 JVM 옵션: %s%n", jvmOptions.isEmpty() ? "(없음)" : String.join(" ", jvmOptions));
+        long[] results = new long[runs];
+        try {
+            for (int run = 0; run < runs; run++) {
+                results[run] = measure(client, stub.getUrl(), jvmOptions, run);
+                System.out.printf("실행 %d: 첫 결제 처리 성공까지 %d ms%n", run + 1, results[run]);
+            }
+        } finally {
+            stub.stop();
+        }
+
+        long[] sorted = results.clone();
+        Arrays.sort(sorted);
+        System.out.printf("최소 %d ms, 중앙값 %d ms, 최대 %d ms%n", sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+        System.exit(0);
+    }
+
+    private static long measure(HttpClient client, String stubUrl, List<String> jvmOptions, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-Dserver.port=" + port);
+        command.add("-Dgame-server-urls=" + stubUrl);
+        command.add("-Dtoss.api-url=" + stubUrl);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.febrie.Main");
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/payment/process"))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"uid\":\"startup-bench-" + run + "\",\"amount\":100,\"creditAmount\":1,\"price\":100}"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        // 대역 서버와 같은 서명 키 (명령줄에 드러나지 않도록 환경 변수로 전달)
+        builder.environment().put(RequestSigner.KEY_ENV, new String(RequestSigner.loadKey(), StandardCharsets.UTF_8));
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(STARTUP_TIMEOUT_MILLIS)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("서버 프로세스가 종료되었습니다. 종료 코드: " + process.exitValue());
+                }
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200 && response.body().contains("\"success\":true")) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // 아직 바인드 전
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException("서버가 " + STARTUP_TIMEOUT_MILLIS + "ms 안에 결제 요청을 처리하지 못했습니다.");
+        } finally {
+            process.destroy();
+            process.waitFor(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
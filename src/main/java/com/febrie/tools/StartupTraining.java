@@ -0,0 +1,81 @@
+package com.febrie.tools;
+
+import com.febrie.Main;
+import com.febrie.http.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * AOT 캐시 / AppCDS 아카이브 생성을 위한 학습 실행
+ * <p>
+ * {@link StubGameServer}를 게임 서버로 삼아 결제 서버를 띄운 뒤, 운영 요청과 같은 경로(검증, 결제 처리, 배치,
+ * 결제 이벤트 구독, 크레딧 조회, 오류 응답)를 반복 호출하고 종료합니다.
+ * 이 실행에서 로드된 클래스가 캐시에 기록되므로, 다음 기동부터는 첫 요청까지의 클래스 로딩/링킹 비용이 줄어듭니다.
+ * <p>
+ * 사용법: {@code StartupTraining [반복 횟수]} (scripts/aot-cache.sh 참고)
+ */
+@Slf4j
+public class StartupTraining {
+
+    public static void main(String @NotNull [] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+
+        Main.loadConfig();
+        StubGameServer stub = StubGameServer.start(0);
+        // 결제 승인도 대역 서버로 보냄
+        System.setProperty("toss.api-url", stub.getUrl());
+        HttpServer server = new HttpServer(0, List.of(stub.getUrl()));
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getPort();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                // 사용자별 결제 빈도 제한에 걸리지 않도록 매번 다른 uid 사용
+                String uid = "training-" + i;
+                String orderId = "training-order-" + i;
+
+                post(client, baseUrl + "/api/payment/verify", "{\"paymentId\":\"training-" + i + "\",\"amount\":1000}");
+                post(client, baseUrl + "/api/payment/process",
+                        "{\"uid\":\"" + uid + "\",\"amount\":100,\"creditAmount\":1,\"price\":100,\"orderId\":\"" + orderId + "\"}");
+                post(client, baseUrl + "/api/payment/process",
+                        "{\"uid\":\"" + uid + "\",\"amount\":1000,\"creditAmount\":10,\"price\":1000,"
+                                + "\"paymentKey\":\"training-key-" + i + "\",\"orderId\":\"" + orderId + "-paid\"}");
+                post(client, baseUrl + "/api/payment/process/batch",
+                        "[{\"uid\":\"" + uid + "-batch\",\"amount\":100,\"creditAmount\":1},{\"uid\":\"" + uid + "\"}]");
+                // 이미 최종 상태인 주문은 마지막 이벤트를 받은 뒤 바로 닫힘
+                get(client, baseUrl + "/api/payment/" + orderId + "/events");
+                get(client, baseUrl + "/api/credits/" + uid);
+                get(client, baseUrl + "/api/credits/stats");
+                get(client, baseUrl + "/api/unknown");
+                post(client, baseUrl + "/api/payment/process", "{\"uid\":");
+            }
+            log.info("학습 실행 완료: {}회 반복, 게임 서버 구매 요청 {}건", iterations, stub.getPurchaseCount());
+        } finally {
+            server.stop();
+            stub.stop();
+        }
+        System.exit(0);
+    }
+
+    private static void post(HttpClient client, String url, String body) throws Exception {
+        send(client, HttpRequest.newBuilder(URI.create(url))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json"));
+    }
+
+    private static void get(HttpClient client, String url) throws Exception {
+        send(client, HttpRequest.newBuilder(URI.create(url)).GET());
+    }
+
+    private static void send(HttpClient client, HttpRequest.Builder builder) throws Exception {
+        client.send(builder.timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,206 @@
+package com.febrie.tools;
+
+import com.febrie.http.HttpServers;
+import com.febrie.payment.signing.RequestSigner;
+import com.febrie.payment.signing.SignatureVerifier;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 재생/벤치마크용 게임 서버 대역
+ * <p>
+ * {@code /purchase}는 항상 성공하고, {@code /balance}는 잔액 0을, 그 외 경로는 빈 JSON 객체를 반환합니다.
+ * 실제 게임 서버처럼 {@code /purchase}의 서명을 검증하고, 실패하면 401을 반환합니다.
+ * 토스페이먼츠 결제 승인 API({@code /v1/payments/confirm})도 흉내 내며, {@code fake}로 시작하는 결제 키는 거절합니다.
+ * ({@code toss.api-url}을 이 서버 주소로 지정해서 사용)
+ * <p>
+ * {@link #setLatencySpike}로 일부 응답을 지연시켜 꼬리 지연을 흉내 낼 수 있습니다. 지연된 응답은 스케줄러가 나중에 보내므로
+ * 요청 처리 스레드를 점유하지 않고, 지연되지 않은 요청은 그동안에도 바로 응답합니다.
+ */
+@Slf4j
+public class StubGameServer {
+
+    private static final String TOSS_CONFIRM_PATH = "/v1/payments/confirm";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SignatureVerifier verifier;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder purchases = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder spikes = new LongAdder();
+    private final ScheduledExecutorService delayedResponses = Executors.newSingleThreadScheduledExecutor();
+
+    private volatile double spikeProbability;
+    private volatile long spikeDelayMillis;
+
+    private StubGameServer(HttpServer server, ExecutorService executor, @Nullable SignatureVerifier verifier) {
+        this.server = server;
+        this.executor = executor;
+        this.verifier = verifier;
+    }
+
+    /**
+     * 대역 서버를 시작하고 구매 요청 서명을 검증합니다.
+     * <p>
+     * 서명 키가 설정되어 있지 않으면 임의의 키를 만들어 {@value RequestSigner#KEY_PROPERTY} 시스템 속성에 넣으므로,
+     * 같은 JVM에서 이후에 만드는 결제 서버도 그 키로 서명합니다.
+     *
+     * @param port 포트 (0이면 임의의 빈 포트)
+     */
+    public static @NotNull StubGameServer start(int port) throws IOException {
+        byte[] key = RequestSigner.loadKey();
+        if (key == null) {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            System.setProperty(RequestSigner.KEY_PROPERTY, Hex.encodeHexString(random));
+            key = RequestSigner.loadKey();
+            log.info("서명 키가 설정되지 않아 이 프로세스에서만 쓰는 임시 키를 사용합니다");
+        }
+        return start(port, new SignatureVerifier(key, Duration.ofMinutes(5), 100_000));
+    }
+
+    /**
+     * 대역 서버를 시작합니다.
+     *
+     * @param port     포트 (0이면 임의의 빈 포트)
+     * @param verifier 구매 요청 서명 검증기 (null이면 검증하지 않음)
+     */
+    public static @NotNull StubGameServer start(int port, @Nullable SignatureVerifier verifier) throws IOException {
+        HttpServer server = HttpServers.create(new InetSocketAddress("localhost", port));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        StubGameServer stub = new StubGameServer(server, executor, verifier);
+        server.createContext("/", stub::handle);
+        server.start();
+        log.info("게임 서버 대역 시작: {}", stub.getUrl());
+        return stub;
+    }
+
+    public @NotNull String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getPurchaseCount() {
+        return purchases.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getSpikeCount() {
+        return spikes.sum();
+    }
+
+    /**
+     * 응답 지연(꼬리 지연)을 주입합니다.
+     *
+     * @param probability 요청마다 지연시킬 확률 (0이면 지연하지 않음)
+     * @param delayMillis 지연 시간 (밀리초)
+     */
+    public void setLatencySpike(double probability, long delayMillis) {
+        this.spikeDelayMillis = delayMillis;
+        this.spikeProbability = probability;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+        delayedResponses.shutdownNow();
+    }
+
+    private SignatureVerifier.Result verify(String path, Headers headers, byte[] body) {
+        if (verifier == null) return SignatureVerifier.Result.VALID;
+        return verifier.verify(path,
+                headers.getFirst(RequestSigner.TIMESTAMP_HEADER),
+                headers.getFirst(RequestSigner.NONCE_HEADER),
+                headers.getFirst(RequestSigner.SIGNATURE_HEADER),
+                body);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.increment();
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            int status = 200;
+            String body;
+            if (path.equals("/purchase")) {
+                SignatureVerifier.Result result = verify(path, exchange.getRequestHeaders(), request);
+                if (result.isValid()) {
+                    purchases.increment();
+                    body = "{\"success\":true}";
+                } else {
+                    rejected.increment();
+                    status = 401;
+                    body = "{\"success\":false,\"message\":\"서명 검증 실패: " + result + "\"}";
+                }
+            } else if (path.equals(TOSS_CONFIRM_PATH)) {
+                JsonObject confirm = JsonParser.parseString(new String(request, StandardCharsets.UTF_8)).getAsJsonObject();
+                if (confirm.get("paymentKey").getAsString().startsWith("fake")) {
+                    status = 404;
+                    body = "{\"code\":\"NOT_FOUND_PAYMENT\",\"message\":\"존재하지 않는 결제 정보 입니다.\"}";
+                } else {
+                    body = "{\"status\":\"DONE\",\"orderId\":" + confirm.get("orderId")
+                            + ",\"totalAmount\":" + confirm.get("amount") + "}";
+                }
+            } else if (path.equals("/balance")) {
+                body = "{\"balance\":0}";
+            } else {
+                body = "{}";
+            }
+
+            double probability = spikeProbability;
+            if (probability > 0 && ThreadLocalRandom.current().nextDouble() < probability) {
+                spikes.increment();
+                int delayedStatus = status;
+                String delayedBody = body;
+                delayedResponses.schedule(() -> respond(exchange, delayedStatus, delayedBody), spikeDelayMillis, TimeUnit.MILLISECONDS);
+                return;
+            }
+            respond(exchange, status, body);
+        } catch (IOException | RuntimeException e) {
+            exchange.close();
+            throw e;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) {
+        try (exchange) {
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (IOException e) {
+            // 클라이언트가 먼저 끊은 경우 (헤징된 요청이 취소된 경우 등)
+            log.debug("대역 서버 응답 전송 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.febrie.tools;
+
+import com.febrie.payment.shard.GameServerShard;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게임 서버 샤드 요청의 꼬리 지연 비교 벤치마크
+ * <p>
+ * 일부 응답을 지연시키는 {@link StubGameServer}에 잔액 조회를 동시에 보내고, 요청별 응답 시간의 p50/p99/p99.9/최대값을 비교합니다.
+ * <ul>
+ *     <li>{@code 고정}: 고정 타임아웃으로 한 번만 보냄 (헤징 없음, 멱등이 아닌 요청과 같은 경로)</li>
+ *     <li>{@code 적응형+헤징}: 응답 시간 분포에 맞춘 타임아웃과 p95 헤징 ({@link GameServerShard#send} 멱등 요청)</li>
+ * </ul>
+ * 방식마다 별도의 대역 서버를 사용하므로 응답 시간 기록이 섞이지 않으며, 측정 전에 워밍업 요청으로 응답 시간 분포를 채웁니다.
+ * 헤징으로 늘어난 요청 수는 대역 서버가 실제로 받은 요청 수로 함께 출력합니다.
+ * <p>
+ * 사용법: {@code TailLatencyBenchmark [요청 수] [동시 요청 수] [지연 확률] [지연 시간(ms)]}
+ */
+public class TailLatencyBenchmark {
+
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    private record Result(long[] latencyNanos, long failures, long hedges, long received, long spikes) {
+    }
+
+    public static void main(String @NotNull [] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        double spikeProbability = args.length > 2 ? Double.parseDouble(args[2]) : 0.02;
+        long spikeMillis = args.length > 3 ? Long.parseLong(args[3]) : 250;
+
+        System.out.printf("요청 %d건, 동시 요청 %d, 지연 확률 %.1f%%, 지연 %d ms (워밍업 %d건)%n",
+                requests, concurrency, spikeProbability * 100, spikeMillis, WARMUP_REQUESTS);
+        System.out.printf("  %-12s %8s %8s %8s %8s %6s %6s %10s%n",
+                "방식", "p50", "p99", "p99.9", "최대", "실패", "헤징", "수신(배율)");
+        report("고정", run(false, requests, concurrency, spikeProbability, spikeMillis), requests);
+        report("적응형+헤징", run(true, requests, concurrency, spikeProbability, spikeMillis), requests);
+        System.exit(0);
+    }
+
+    private static @NotNull Result run(boolean adaptive, int requests, int concurrency,
+                                       double spikeProbability, long spikeMillis) throws Exception {
+        StubGameServer stub = StubGameServer.start(0, null);
+        stub.setLatencySpike(spikeProbability, spikeMillis);
+        GameServerShard shard = new GameServerShard(stub.getUrl());
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            send(executor, shard, adaptive, WARMUP_REQUESTS, new long[WARMUP_REQUESTS]);
+            long hedgesBefore = shard.getHedgeCount();
+            long receivedBefore = stub.getRequestCount();
+            long spikesBefore = stub.getSpikeCount();
+
+            long[] latencies = new long[requests];
+            long failures = send(executor, shard, adaptive, requests, latencies);
+            return new Result(latencies, failures, shard.getHedgeCount() - hedgesBefore,
+                    stub.getRequestCount() - receivedBefore, stub.getSpikeCount() - spikesBefore);
+        } finally {
+            executor.shutdownNow();
+            shard.close();
+            stub.stop();
+        }
+    }
+
+    /**
+     * 요청을 동시에 보내고 요청별 응답 시간을 기록합니다. 실패한 요청은 실패까지 걸린 시간을 기록합니다.
+     *
+     * @return 실패한 요청 수
+     */
+    private static long send(ExecutorService executor, GameServerShard shard, boolean adaptive,
+                             int requests, long[] latencies) throws Exception {
+        LongAdder failures = new LongAdder();
+        List<Future<?>> pending = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            String uri = shard.getUrl() + "/balance?uid=user-" + (i % 10_000);
+            pending.add(executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<String> response = shard.send(HttpRequest.newBuilder(URI.create(uri)).GET(), adaptive);
+                    if (response.statusCode() != 200) failures.increment();
+                } catch (Exception e) {
+                    failures.increment();
+                }
+                latencies[index] = System.nanoTime() - start;
+            }));
+        }
+        for (Future<?> future : pending) future.get();
+        return failures.sum();
+    }
+
+    private static void report(String name, @NotNull Result result, int requests) {
+        long[] sorted = result.latencyNanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %-12s %8s %8s %8s %8s %6d %6d %6d(%.2fx)  지연 주입 %d건%n",
+                name, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)), millis(sorted[sorted.length - 1]),
+                result.failures, result.hedges, result.received, (double) result.received / requests, result.spikes);
+    }
+
+    private static long percentile(long @NotNull [] sorted, double percentile) {
+        int rank = (int) Math.ceil(sorted.length * percentile);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static @NotNull String millis(long nanos) {
+        return String.format("%.1fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,168 @@
+package com.febrie.tools;
+
+import com.febrie.http.capture.CaptureLog;
+import com.febrie.http.capture.CapturedExchange;
+import com.febrie.http.capture.TrafficCaptureFilter;
+import com.febrie.payment.PaymentAPIImpl;
+import com.febrie.payment.PaymentServer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 캡처 로그를 로컬 {@link PaymentServer}와 {@link StubGameServer}에 재생하고 응답과 지연을 비교하는 도구
+ * <p>
+ * 사용법: {@code TrafficReplay <캡처 파일> [속도]}
+ * 속도 1은 캡처 당시 간격 그대로, 10은 10배 빠르게, 0은 간격 없이 최대한 빠르게 재생합니다.
+ * <p>
+ * 결과가 재생 속도와 실행 환경에 좌우되지 않도록 다음을 지킵니다.
+ * <ul>
+ *     <li>실행마다 새 결제 서버를 띄워 이벤트 버스, 잔액 캐시, 결제 빈도 윈도우가 빈 상태에서 시작합니다.</li>
+ *     <li>결제 서버의 시계를 재생 중인 요청의 캡처 시각으로 맞춰, 빠르게 재생해도 결제 빈도 윈도우와 캐시 TTL은
+ *         캡처 당시 시간축으로 판정됩니다.</li>
+ *     <li>요청은 캡처 당시 시작 순서대로 이전 응답을 받은 뒤에 보냅니다. (서버가 캡처 당시보다 느리면 예정 시각보다 늦어질 수 있음)</li>
+ *     <li>매 실행마다 달라지는 UUID는 비교 전에 치환하고, 서버 누적 통계({@value #STATS_PATH})는 상태 코드만 비교합니다.</li>
+ * </ul>
+ * SSE 구독 요청은 재생하지 않습니다. 캡처 로그의 결제 키는 가려져 있으므로 대역 서버에서는 모두 승인됩니다.
+ */
+public class TrafficReplay {
+
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final int MAX_REPORTED_DIFFS = 10;
+    private static final String STATS_PATH = "/api/credits/stats";
+
+    private record ReplayResult(CapturedExchange captured, int status, byte[] body, long latencyNanos, Throwable error) {
+    }
+
+    public static void main(String @NotNull [] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("사용법: TrafficReplay <캡처 파일> [속도 (기본 1, 0이면 최대 속도)]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+
+        // 캡처 로그는 요청이 끝난 순서로 기록되므로 시작 순서로 정렬
+        List<CapturedExchange> captured = CaptureLog.readAll(file).stream()
+                .sorted(Comparator.comparingLong(CapturedExchange::offsetNanos))
+                .toList();
+        System.out.printf("캡처 로그 %s: %d건, 재생 속도 %s%n", file, captured.size(), speed > 0 ? speed + "x" : "최대");
+
+        // 재생 중인 트래픽을 다시 캡처하지 않도록 함
+        System.clearProperty(TrafficCaptureFilter.CAPTURE_FILE_PROPERTY);
+        StubGameServer stub = StubGameServer.start(0);
+        // 결제 승인도 대역 서버로 보냄
+        System.setProperty("toss.api-url", stub.getUrl());
+        // 결제 서버가 보는 현재 시각 (재생 중인 요청의 캡처 시각)
+        AtomicLong replayClock = new AtomicLong(captured.isEmpty() ? System.currentTimeMillis() : captured.getFirst().startMillis());
+        PaymentServer server = new PaymentServer(0, new PaymentAPIImpl(List.of(stub.getUrl()), replayClock::get));
+        server.start();
+
+        try {
+            List<ReplayResult> results = replay(captured, "http://localhost:" + server.getPort(), speed, replayClock);
+            report(captured.size(), results);
+        } finally {
+            server.stop();
+            stub.stop();
+        }
+        System.exit(0);
+    }
+
+    private static List<ReplayResult> replay(List<CapturedExchange> captured, String baseUrl, double speed,
+                                             AtomicLong replayClock) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<ReplayResult> results = new ArrayList<>();
+        long firstOffset = captured.isEmpty() ? 0 : captured.getFirst().offsetNanos();
+        long replayStart = System.nanoTime();
+
+        for (CapturedExchange exchange : captured) {
+            if (exchange.uri().endsWith("/events")) continue;
+
+            if (speed > 0) {
+                long due = (long) ((exchange.offsetNanos() - firstOffset) / speed);
+                long wait = due - (System.nanoTime() - replayStart);
+                if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(baseUrl + exchange.uri()))
+                    .method(exchange.method(), exchange.requestBody().length == 0
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(exchange.requestBody()))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+
+            // 벽시계 보정으로 캡처 시각이 뒤로 가더라도 결제 서버의 시계는 되돌리지 않음
+            replayClock.accumulateAndGet(exchange.startMillis(), Math::max);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                results.add(new ReplayResult(exchange, response.statusCode(), response.body(), System.nanoTime() - start, null));
+            } catch (IOException e) {
+                results.add(new ReplayResult(exchange, -1, new byte[0], System.nanoTime() - start, e));
+            }
+        }
+        return results;
+    }
+
+    private static void report(int total, List<ReplayResult> results) {
+        int statusDiffs = 0;
+        int bodyDiffs = 0;
+        int reported = 0;
+        long[] capturedLatency = new long[results.size()];
+        long[] replayedLatency = new long[results.size()];
+
+        for (int i = 0; i < results.size(); i++) {
+            ReplayResult result = results.get(i);
+            CapturedExchange captured = result.captured();
+            capturedLatency[i] = captured.latencyNanos();
+            replayedLatency[i] = result.latencyNanos();
+
+            boolean statusDiff = captured.status() != result.status();
+            boolean bodyDiff = !captured.uri().startsWith(STATS_PATH)
+                    && !normalize(captured.responseBody()).equals(normalize(result.body()));
+            if (statusDiff) statusDiffs++;
+            if (bodyDiff) bodyDiffs++;
+
+            if ((statusDiff || bodyDiff) && reported++ < MAX_REPORTED_DIFFS) {
+                System.out.printf("[차이] %s %s%n  캡처: %d %s%n  재생: %d %s%n",
+                        captured.method(), captured.uri(),
+                        captured.status(), normalize(captured.responseBody()),
+                        result.status(), result.error() != null ? result.error() : normalize(result.body()));
+            }
+        }
+
+        System.out.printf("재생 %d건 (SSE 제외 %d건), 상태 코드 차이 %d건, 응답 바디 차이 %d건%n",
+                results.size(), total - results.size(), statusDiffs, bodyDiffs);
+        System.out.printf("지연 (ms)  캡처 p50=%.1f p95=%.1f p99=%.1f  |  재생 p50=%.1f p95=%.1f p99=%.1f%n",
+                percentile(capturedLatency, 0.50), percentile(capturedLatency, 0.95), percentile(capturedLatency, 0.99),
+                percentile(replayedLatency, 0.50), percentile(replayedLatency, 0.95), percentile(replayedLatency, 0.99));
+    }
+
+    private static String normalize(byte[] body) {
+        return UUID_PATTERN.matcher(new String(body, StandardCharsets.UTF_8)).replaceAll("<uuid>").trim();
+    }
+
+    private static double percentile(long[] nanos, double percentile) {
+        if (nanos.length == 0) return 0;
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(sorted.length * percentile) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,95 @@
+package com.febrie.tools;
+
+import com.febrie.payment.fraud.VelocityRuleEngine;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 결제 빈도 규칙 엔진 처리량 벤치마크
+ * <p>
+ * 고정 시드로 만든 uid 목록에 대해 {@link VelocityRuleEngine#evaluate}(검증 단계)와
+ * {@link VelocityRuleEngine#record}(지급 단계)를 여러 스레드에서 반복 호출하고 초당 처리 건수를 측정합니다.
+ * 한도는 모든 결제가 허용되도록 크게 잡아 매 호출이 윈도우 갱신(판정은 윈도우 합산)까지 수행하게 하며,
+ * 이어서 기본 한도로 한 번 더 측정해 대부분이 거절되는 경우의 비용도 보여줍니다.
+ * 각 측정 전에 같은 작업을 한 번 실행해 JIT 컴파일을 마칩니다.
+ * <p>
+ * 사용법: {@code VelocityBenchmark [이벤트 수] [스레드 수] [uid 수]}
+ */
+public class VelocityBenchmark {
+
+    private static final long SEED = 20_240_601L;
+
+    public static void main(String @NotNull [] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int uidCount = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        Random random = new Random(SEED);
+        String[] uids = new String[uidCount];
+        for (int i = 0; i < uidCount; i++) {
+            uids[i] = "user-" + Long.toHexString(random.nextLong());
+        }
+        long[] amounts = new long[1024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 100 + random.nextInt(50_000);
+        }
+
+        VelocityRuleEngine.Limits unlimited = new VelocityRuleEngine.Limits(
+                Integer.MAX_VALUE, Long.MAX_VALUE / 2, Integer.MAX_VALUE, Long.MAX_VALUE / 2, Integer.MAX_VALUE);
+
+        System.out.printf("이벤트 %d건, 스레드 %d개, uid %d개%n", events, threads, uidCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            VelocityRuleEngine engine = new VelocityRuleEngine(unlimited, uidCount);
+            run("record (허용)", executor, threads, events, uids, amounts, engine, true);
+            // 모든 uid의 윈도우가 채워진 상태에서 판정
+            run("evaluate (허용)", executor, threads, events, uids, amounts, engine, false);
+            run("record (기본 한도)", executor, threads, events, uids, amounts,
+                    new VelocityRuleEngine(VelocityRuleEngine.Limits.DEFAULT, uidCount), true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void run(String name, ExecutorService executor, int threads, int events,
+                            String[] uids, long[] amounts, VelocityRuleEngine engine, boolean record) throws Exception {
+        // 워밍업
+        measure(executor, threads, events, uids, amounts, engine, record);
+        Result result = measure(executor, threads, events, uids, amounts, engine, record);
+        System.out.printf("  %-16s %,12.0f events/s (%.0f ns/event), 허용 %d건%n",
+                name, events / result.seconds, result.seconds * 1e9 / events * threads, result.allowed);
+    }
+
+    private record Result(double seconds, long allowed) {
+    }
+
+    private static @NotNull Result measure(ExecutorService executor, int threads, int events,
+                                           String[] uids, long[] amounts, VelocityRuleEngine engine, boolean record) throws Exception {
+        int perThread = events / threads;
+        List<Future<Long>> futures = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            futures.add(executor.submit(() -> {
+                long allowed = 0;
+                for (int i = 0; i < perThread; i++) {
+                    int n = offset + i;
+                    String uid = uids[n % uids.length];
+                    long amount = amounts[n & (amounts.length - 1)];
+                    VelocityRuleEngine.Verdict verdict = record ? engine.record(uid, amount) : engine.evaluate(uid, amount);
+                    if (verdict.isAllowed()) allowed++;
+                }
+                return allowed;
+            }));
+        }
+        long allowed = 0;
+        for (Future<Long> future : futures) allowed += future.get();
+        return new Result((System.nanoTime() - start) / 1e9, allowed);
+    }
+}